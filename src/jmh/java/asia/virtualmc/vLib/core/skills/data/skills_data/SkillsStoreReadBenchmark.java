@@ -0,0 +1,58 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocating {@link SkillsStore#read(int, UUID)} against {@link SkillsStore#readInto(int, UUID, SkillsView)}.
+ * Run with {@code ./gradlew jmh}; add {@code -prof gc} through {@code jmh.profilers} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillsStoreReadBenchmark {
+    private static final int PLAYERS = 1024;
+
+    private final SkillsStore store = new SkillsStore();
+    private final UUID[] uuids = new UUID[PLAYERS];
+    private final int[] slots = new int[PLAYERS];
+    private final SkillsView view = new SkillsView();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < PLAYERS; i++) {
+            uuids[i] = UUID.randomUUID();
+            slots[i] = store.insert(uuids[i], new SkillsDatabase.PlayerDataDB(
+                    "player" + i, i * 10.0, 0, 1.0, 1 + i % 99, i % 50, 0, 0, 0, 0, 0, 0));
+        }
+    }
+
+    @Benchmark
+    public void read(Blackhole bh) {
+        int i = next++ & (PLAYERS - 1);
+        bh.consume(store.read(slots[i], uuids[i]));
+    }
+
+    @Benchmark
+    public void readInto(Blackhole bh) {
+        int i = next++ & (PLAYERS - 1);
+        bh.consume(store.readInto(slots[i], uuids[i], view));
+        bh.consume(view.getLevel());
+    }
+}
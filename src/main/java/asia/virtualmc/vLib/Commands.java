@@ -1,6 +1,7 @@
 package asia.virtualmc.vLib;
 
 import asia.virtualmc.vLib.integration.better_model.BMCommands;
+import asia.virtualmc.vLib.storage.StorageCommands;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
 import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPICommand;
@@ -28,6 +29,11 @@ public class Commands {
             enabledCommands.add("BetterModel");
         }
 
+        if (Boolean.TRUE.equals(modules.get("mysql")) || Boolean.TRUE.equals(modules.get("sqlite"))) {
+            command.withSubcommand(StorageCommands.storage());
+            enabledCommands.add("Storage");
+        }
+
         if (!enabledCommands.isEmpty()) {
             command.register();
             ConsoleUtils.info("Registered commands: " + enabledCommands);
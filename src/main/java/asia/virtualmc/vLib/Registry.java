@@ -6,6 +6,7 @@ import asia.virtualmc.vLib.core.utilities.LevelTagUtils;
 import asia.virtualmc.vLib.core.utilities.ProgressBarUtils;
 import asia.virtualmc.vLib.integration.IntegrationManager;
 import asia.virtualmc.vLib.listeners.FireworkDamageListener;
+import asia.virtualmc.vLib.listeners.PlayerPreLoginListener;
 import asia.virtualmc.vLib.listeners.ServerJoinListener;
 import asia.virtualmc.vLib.storage.StorageManager;
 import asia.virtualmc.vLib.tasks.TaskManager;
@@ -55,6 +56,7 @@ public class Registry {
         // Listeners
         new ServerJoinListener(plugin);
         new FireworkDamageListener(plugin);
+        new PlayerPreLoginListener(plugin);
     }
 
     public void disable() {
@@ -3,7 +3,6 @@ package asia.virtualmc.vLib.core.configs;
 import asia.virtualmc.vLib.services.file.YamlFileService;
 import asia.virtualmc.vLib.utilities.digit.IntegerUtils;
 import asia.virtualmc.vLib.utilities.items.MaterialUtils;
-import asia.virtualmc.vLib.utilities.java.HashSetUtils;
 import dev.dejvokep.boostedyaml.block.implementation.Section;
 import org.bukkit.Material;
 import org.bukkit.plugin.Plugin;
@@ -66,11 +65,19 @@ public class InnateTraitConfig {
 
         for (String point : pointsList) {
             String[] parts = point.split(";");
-            Set<Integer> levels = HashSetUtils.getRange(parts[0]);
-            if (levels.isEmpty()) continue;
+            String[] range = parts[0].split("-");
+            if (range.length != 2) continue;
+
+            int start, end;
+            try {
+                start = Integer.parseInt(range[0].trim());
+                end = Integer.parseInt(range[1].trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
 
             int pointGain = IntegerUtils.toInt(parts[1]);
-            for (int level : levels) {
+            for (int level = start; level <= end; level++) {
                 points.put(level, pointGain);
             }
         }
@@ -0,0 +1,69 @@
+package asia.virtualmc.vLib.core.skills.data;
+
+import asia.virtualmc.vLib.storage.DatabaseExecutor;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-only cache of players that are not online, for admin commands, profile GUIs and leaderboards.
+ * Kept apart from the online write cache: entries are never written back and expire on their own.
+ * Loads run on the {@link DatabaseExecutor} at load priority, and concurrent requests for the same player share one load.
+ *
+ * @param <V> loaded value type
+ */
+public final class OfflineCache<V> {
+    public static final long DEFAULT_MAXIMUM_SIZE = 1_000;
+    public static final Duration DEFAULT_EXPIRY = Duration.ofMinutes(5);
+
+    private final AsyncLoadingCache<UUID, V> cache;
+
+    public OfflineCache(@NotNull CacheLoader<UUID, V> loader) {
+        this(loader, DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRY);
+    }
+
+    /**
+     * @param loader      blocking database read for one player
+     * @param maximumSize maximum number of cached players
+     * @param expiry      how long a loaded player is served before it is read again
+     */
+    public OfflineCache(@NotNull CacheLoader<UUID, V> loader, long maximumSize, @NotNull Duration expiry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiry)
+                .executor(DatabaseExecutor.executor(DatabaseExecutor.Priority.LOAD))
+                .recordStats()
+                .buildAsync(loader);
+    }
+
+    /**
+     * Returns the cached value or starts loading it. Completes exceptionally if the load fails;
+     * failed loads are not cached.
+     */
+    @NotNull
+    public CompletableFuture<V> get(@NotNull UUID uuid) {
+        return cache.get(uuid);
+    }
+
+    /**
+     * Drops the player, e.g. when they join and the online cache becomes authoritative.
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        cache.synchronous().invalidate(uuid);
+    }
+
+    @NotNull
+    public CacheStats getStats() {
+        return cache.synchronous().stats();
+    }
+
+    public long getSize() {
+        return cache.synchronous().estimatedSize();
+    }
+}
@@ -0,0 +1,23 @@
+package asia.virtualmc.vLib.core.skills.data;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+/**
+ * A per-player data cache that can be filled ahead of time by {@link PlayerDataPipeline}.
+ */
+public interface PlayerDataLoader {
+    Plugin getPlugin();
+    boolean isLoaded(UUID uuid);
+
+    /**
+     * Loads the player's data into the cache. Blocking; the pipeline only calls this off the main thread.
+     */
+    void load(UUID uuid);
+
+    /**
+     * Saves and removes the player. The pipeline calls this for players it prefetched who never joined.
+     */
+    void unload(UUID uuid);
+}
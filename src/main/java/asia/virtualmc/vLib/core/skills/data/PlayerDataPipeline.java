@@ -0,0 +1,150 @@
+package asia.virtualmc.vLib.core.skills.data;
+
+import asia.virtualmc.vLib.storage.DatabaseExecutor;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads every registered {@link PlayerDataLoader} for a player in parallel, off the main thread.
+ * Started from {@code AsyncPlayerPreLoginEvent} so data is cached before the player can trigger any update.
+ * Concurrent requests for the same loader and player share one load.
+ * <p>
+ * Players whose login is denied afterwards, or who disconnect before joining, never trigger a quit,
+ * so they are unloaded through {@link #discard(UUID)} or, failing that, {@link #reap(long)}.
+ */
+public class PlayerDataPipeline {
+    private static final Set<PlayerDataLoader> loaders = ConcurrentHashMap.newKeySet();
+    private static final Map<Key, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private record Key(PlayerDataLoader loader, UUID uuid) {}
+    // Prefetched players that have not joined yet, with the time of the prefetch
+    private static final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+
+    private static final Executor ASYNC = DatabaseExecutor.executor(DatabaseExecutor.Priority.LOAD);
+    private static final Executor UNLOAD = DatabaseExecutor.executor(DatabaseExecutor.Priority.SAVE);
+
+    /**
+     * Registers a loader so it is filled on every player join.
+     *
+     * @param loader the data service to prefetch
+     */
+    public static void register(@NotNull PlayerDataLoader loader) {
+        loaders.add(loader);
+    }
+
+    public static void unregister(@NotNull PlayerDataLoader loader) {
+        loaders.remove(loader);
+    }
+
+    /**
+     * Loads the player into every registered loader whose plugin is still enabled.
+     *
+     * @param uuid player UUID
+     * @return a future completed once every loader finished (successfully or not)
+     */
+    public static CompletableFuture<Void> load(@NotNull UUID uuid) {
+        pending.put(uuid, System.nanoTime());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (PlayerDataLoader loader : loaders) {
+            if (!loader.getPlugin().isEnabled()) {
+                loaders.remove(loader);
+                continue;
+            }
+            futures.add(load(loader, uuid));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Loads the player into a single loader asynchronously, joining an in-flight load if one exists.
+     *
+     * @param loader the data service to fill
+     * @param uuid   player UUID
+     * @return a future completed once the load finished (successfully or not)
+     */
+    public static CompletableFuture<Void> load(@NotNull PlayerDataLoader loader, @NotNull UUID uuid) {
+        if (loader.isLoaded(uuid)) return CompletableFuture.completedFuture(null);
+
+        Key key = new Key(loader, uuid);
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) return existing;
+
+        ASYNC.execute(() -> {
+            try {
+                if (!loader.isLoaded(uuid)) loader.load(uuid);
+            } catch (Exception e) {
+                ConsoleUtils.severe("[" + loader.getPlugin().getName() + "]",
+                        "Failed to prefetch player data for " + uuid + ": " + e.getMessage());
+            } finally {
+                inFlight.remove(key, created);
+                created.complete(null);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Marks a prefetched player as joined; from now on their plugins unload them on quit.
+     */
+    public static void joined(@NotNull UUID uuid) {
+        pending.remove(uuid);
+    }
+
+    /**
+     * Unloads a prefetched player who will not join, e.g. because their login was denied.
+     * Loads still running for them finish first.
+     */
+    public static void discard(@NotNull UUID uuid) {
+        if (pending.remove(uuid) != null) unloadAll(uuid);
+    }
+
+    /**
+     * Unloads players prefetched more than {@code maxAgeSeconds} ago who never came online.
+     *
+     * @param maxAgeSeconds how long a prefetched player may take to join
+     */
+    public static void reap(long maxAgeSeconds) {
+        long now = System.nanoTime();
+        long maxAge = TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+        for (Map.Entry<UUID, Long> entry : pending.entrySet()) {
+            if (now - entry.getValue() < maxAge) continue;
+            UUID uuid = entry.getKey();
+            if (!pending.remove(uuid, entry.getValue()) || Bukkit.getPlayer(uuid) != null) continue;
+            ConsoleUtils.warning("Player " + uuid + " was prefetched " + maxAgeSeconds + "s ago but never joined, unloading their data.");
+            unloadAll(uuid);
+        }
+    }
+
+    /**
+     * Returns true if a load for this loader and player is currently running.
+     */
+    public static boolean isLoading(@NotNull PlayerDataLoader loader, @NotNull UUID uuid) {
+        return inFlight.containsKey(new Key(loader, uuid));
+    }
+
+    private static void unloadAll(UUID uuid) {
+        for (PlayerDataLoader loader : loaders) {
+            CompletableFuture<Void> loading = inFlight.get(new Key(loader, uuid));
+            CompletableFuture<Void> after = (loading != null) ? loading : CompletableFuture.completedFuture(null);
+            after.thenRunAsync(() -> {
+                try {
+                    loader.unload(uuid);
+                } catch (Exception e) {
+                    ConsoleUtils.severe("[" + loader.getPlugin().getName() + "]",
+                            "Failed to unload prefetched player data for " + uuid + ": " + e.getMessage());
+                }
+            }, UNLOAD);
+        }
+    }
+}
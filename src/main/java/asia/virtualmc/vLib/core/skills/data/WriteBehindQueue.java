@@ -0,0 +1,280 @@
+package asia.virtualmc.vLib.core.skills.data;
+
+import asia.virtualmc.vLib.storage.DatabaseExecutor;
+import asia.virtualmc.vLib.utilities.paper.TaskUtils;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tracks which keys (usually player UUIDs) changed since the last flush and hands only those
+ * to a writer. Repeated updates to the same key between flushes are coalesced into one write.
+ * <p>
+ * Flushes and single-key writes never overlap, so a flush that drained before a key was written
+ * on its own can not commit older values over it afterwards.
+ *
+ * @param <K> key type
+ */
+public final class WriteBehindQueue<K> {
+    private final Set<K> dirty = ConcurrentHashMap.newKeySet();
+    private final Consumer<Set<K>> writer;
+    // One permit: held from drain until complete, and for the duration of write(key)
+    private final Semaphore flushing = new Semaphore(1);
+    private ScheduledTask task;
+    private final AtomicBoolean earlyFlush = new AtomicBoolean(false);
+    private volatile Plugin owner;
+    private volatile int threshold = Integer.MAX_VALUE;
+
+    // Metrics
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedKeys = new AtomicLong();
+    private volatile long drainStart;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile int lastFlushSize;
+    private final AtomicLong writtenRows = new AtomicLong();
+    private volatile int lastFlushRows;
+    // Rows reported for the batch in progress; only touched while holding the permit
+    private int pendingRows;
+
+    /**
+     * @param writer persists the given keys; if it throws, the keys are re-queued
+     */
+    public WriteBehindQueue(@NotNull Consumer<Set<K>> writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Marks a key as changed so it is included in the next flush.
+     *
+     * @param key changed key
+     */
+    public void mark(@NotNull K key) {
+        if (dirty.add(key) && dirty.size() >= threshold) flushEarly();
+    }
+
+    /**
+     * Removes a key from the queue, e.g. after it was persisted individually.
+     *
+     * @param key key to clear
+     * @return true if the key was pending
+     */
+    public boolean clear(@NotNull K key) {
+        return dirty.remove(key);
+    }
+
+    public boolean isDirty(@NotNull K key) {
+        return dirty.contains(key);
+    }
+
+    /**
+     * Drains all pending keys and passes them to the writer in one call.
+     * Keys marked while the writer runs stay queued for the next flush.
+     * Only one flush runs at a time; concurrent calls return immediately.
+     *
+     * @return number of keys written
+     */
+    public int flush() {
+        return writeBatch(drain(false));
+    }
+
+    /**
+     * Like {@link #flush()}, but waits for a running flush to finish first instead of returning,
+     * so every key pending at the time of the call is written (or re-queued) when this returns.
+     * Use on shutdown.
+     *
+     * @return number of keys written
+     */
+    public int flushAll() {
+        return writeBatch(drain(true));
+    }
+
+    /**
+     * Writes one key now, after any running flush and before the next one starts.
+     * The key is re-queued if the writer throws.
+     *
+     * @param key key to write, whether or not it is pending
+     * @return true if no other key was pending once the write finished
+     */
+    public boolean write(@NotNull K key) {
+        flushing.acquireUninterruptibly();
+        try {
+            pendingRows = 0;
+            dirty.remove(key);
+            writer.accept(Set.of(key));
+            writtenRows.addAndGet(pendingRows);
+            return dirty.isEmpty();
+        } catch (RuntimeException e) {
+            dirty.add(key);
+            throw e;
+        } finally {
+            flushing.release();
+        }
+    }
+
+    private int writeBatch(Set<K> batch) {
+        if (batch.isEmpty()) return 0;
+
+        boolean written = false;
+        try {
+            writer.accept(batch);
+            written = true;
+            return batch.size();
+        } finally {
+            complete(batch, written);
+        }
+    }
+
+    /**
+     * Takes all pending keys for an external writer, e.g. one transaction spanning several queues.
+     * Returns an empty set if nothing is pending or another flush is running. A non-empty batch
+     * blocks other flushes until it is passed to {@link #complete(Set, boolean)}.
+     *
+     * @return the drained keys
+     */
+    public Set<K> drain() {
+        return drain(false);
+    }
+
+    /**
+     * Takes all pending keys for an external writer.
+     *
+     * @param wait if true, waits for a running flush instead of returning an empty set
+     * @return the drained keys
+     */
+    public Set<K> drain(boolean wait) {
+        if (wait) {
+            flushing.acquireUninterruptibly();
+        } else if (dirty.isEmpty() || !flushing.tryAcquire()) {
+            return Set.of();
+        }
+
+        drainStart = System.nanoTime();
+        pendingRows = 0;
+        Set<K> batch = new HashSet<>();
+        Iterator<K> it = dirty.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+        }
+        if (batch.isEmpty()) flushing.release();
+        return batch;
+    }
+
+    /**
+     * Records rows the writer stored for the batch in progress, for the flush metrics.
+     * Call from the writer, or before {@link #complete(Set, boolean)} for a drained batch.
+     *
+     * @param rows database rows written
+     */
+    public void addRows(int rows) {
+        pendingRows += rows;
+    }
+
+    /**
+     * Finishes a batch returned by {@link #drain()} and records the rows it wrote. Failed batches are re-queued.
+     *
+     * @param batch   the drained keys
+     * @param written true if the keys were persisted
+     * @param rows    database rows written for the batch
+     */
+    public void complete(@NotNull Set<K> batch, boolean written, int rows) {
+        if (!batch.isEmpty()) addRows(rows);
+        complete(batch, written);
+    }
+
+    /**
+     * Finishes a batch returned by {@link #drain()}. Failed batches are re-queued.
+     *
+     * @param batch   the drained keys
+     * @param written true if the keys were persisted
+     */
+    public void complete(@NotNull Set<K> batch, boolean written) {
+        if (batch.isEmpty()) return;
+        try {
+            if (!written) {
+                dirty.addAll(batch);
+                return;
+            }
+
+            long elapsed = System.nanoTime() - drainStart;
+            lastFlushNanos = elapsed;
+            if (elapsed > maxFlushNanos) maxFlushNanos = elapsed;
+            lastFlushSize = batch.size();
+            lastFlushRows = pendingRows;
+            writtenRows.addAndGet(pendingRows);
+            flushCount.incrementAndGet();
+            flushedKeys.addAndGet(batch.size());
+        } finally {
+            flushing.release();
+        }
+    }
+
+    /**
+     * Starts flushing asynchronously at a fixed interval. Restarts the task if already running.
+     *
+     * @param plugin   owning plugin
+     * @param interval interval between flushes in seconds
+     */
+    public synchronized void start(@NotNull Plugin plugin, double interval) {
+        stop();
+        this.task = TaskUtils.repeatingAsync(plugin,
+                () -> DatabaseExecutor.run(DatabaseExecutor.Priority.SAVE, this::flush), interval);
+    }
+
+    /**
+     * Starts flushing asynchronously at a fixed interval, and early once {@code threshold} keys are pending.
+     *
+     * @param plugin    owning plugin
+     * @param interval  interval between flushes in seconds
+     * @param threshold pending key count that triggers an immediate async flush
+     */
+    public synchronized void start(@NotNull Plugin plugin, double interval, int threshold) {
+        start(plugin, interval);
+        this.owner = plugin;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    /**
+     * Cancels the periodic flush task. Pending keys are kept; call {@link #flush()} to write them.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        threshold = Integer.MAX_VALUE;
+    }
+
+    private void flushEarly() {
+        Plugin plugin = owner;
+        if (plugin == null || !plugin.isEnabled() || !earlyFlush.compareAndSet(false, true)) return;
+        DatabaseExecutor.run(DatabaseExecutor.Priority.SAVE, () -> {
+            earlyFlush.set(false);
+            flush();
+        }).whenComplete((result, error) -> {
+            // Also when the task expired in the queue or was cancelled, so threshold flushes keep firing
+            earlyFlush.set(false);
+        });
+    }
+
+    // ---------- Metrics ----------
+
+    public int getQueueDepth() { return dirty.size(); }
+    public double getLastFlushMillis() { return lastFlushNanos / 1_000_000.0; }
+    public double getMaxFlushMillis() { return maxFlushNanos / 1_000_000.0; }
+    public int getLastFlushSize() { return lastFlushSize; }
+    public long getFlushCount() { return flushCount.get(); }
+    public long getFlushedKeys() { return flushedKeys.get(); }
+    public int getLastFlushRows() { return lastFlushRows; }
+    public long getWrittenRows() { return writtenRows.get(); }
+}
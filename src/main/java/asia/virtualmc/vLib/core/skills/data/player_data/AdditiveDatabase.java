@@ -0,0 +1,23 @@
+package asia.virtualmc.vLib.core.skills.data.player_data;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A {@link GenericDatabase} that can add to stored amounts, as required by
+ * {@link GenericDataService.WriteMode#ADDITIVE}.
+ */
+public interface AdditiveDatabase extends GenericDatabase {
+
+    /**
+     * Adds the given per-key deltas to the stored amounts and returns the resulting totals
+     * of those keys.
+     * <p>
+     * A call with a {@code flushId} that was already applied must not add the deltas again, so a
+     * write whose outcome is unknown (e.g. the connection dropped during commit) can be retried.
+     *
+     * @param flushId id of this batch, reused when the same deltas are retried
+     * @return map of UUID -> (key -> stored total) for every key that was written
+     */
+    Map<UUID, Map<String, Integer>> addAll(UUID flushId, Map<UUID, Map<String, Integer>> deltas) throws Exception;
+}
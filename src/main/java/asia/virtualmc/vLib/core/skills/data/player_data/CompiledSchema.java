@@ -0,0 +1,59 @@
+package asia.virtualmc.vLib.core.skills.data.player_data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense form of a {@link DataSchema}: every key gets a fixed index (keys sorted by name),
+ * so each player's values fit in one {@code int} array.
+ */
+public final class CompiledSchema {
+    private final String[] names;
+    private final KeyHandle[] handles;
+    private final Map<String, KeyHandle> byName;
+
+    private CompiledSchema(String[] names) {
+        this.names = names;
+        this.handles = new KeyHandle[names.length];
+        this.byName = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            handles[i] = new KeyHandle(this, i, names[i]);
+            byName.put(names[i], handles[i]);
+        }
+    }
+
+    public static CompiledSchema compile(@NotNull DataSchema schema) {
+        String[] names = schema.keys().toArray(new String[0]);
+        Arrays.sort(names);
+        return new CompiledSchema(names);
+    }
+
+    /**
+     * Returns the handle of the key, or null if the key is not part of the schema.
+     */
+    public KeyHandle handle(String name) {
+        return byName.get(name);
+    }
+
+    public KeyHandle handle(int index) {
+        return handles[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns true if the handle was created by this schema.
+     */
+    public boolean owns(KeyHandle handle) {
+        return handle != null && handle.schema() == this;
+    }
+}
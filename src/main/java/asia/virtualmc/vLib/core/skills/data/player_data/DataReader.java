@@ -5,5 +5,6 @@ import java.util.UUID;
 
 public interface DataReader {
     int get(UUID uuid, String key);
+    int get(UUID uuid, KeyHandle key);
     Map<String, Integer> getAll(UUID uuid);
 }
\ No newline at end of file
@@ -11,6 +11,8 @@ public interface DataWriter {
     void add(UUID uuid, String key, int amount);
     void subtract(UUID uuid, String key, int amount);
     void set(UUID uuid, String key, int amount);
+    void add(UUID uuid, KeyHandle key, int amount);
+    void set(UUID uuid, KeyHandle key, int amount);
     void increment(UUID uuid, String key);
     void decrement(UUID uuid, String key);
 }
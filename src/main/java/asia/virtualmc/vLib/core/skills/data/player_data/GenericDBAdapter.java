@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
-public class GenericDBAdapter implements GenericDatabase {
+public class GenericDBAdapter implements AdditiveDatabase {
     private final Plugin plugin;
     private final List<String> keys;
     private final String tableName;
@@ -28,14 +28,33 @@ public class GenericDBAdapter implements GenericDatabase {
         return result;
     }
 
+    @Override
+    public Map<String, Integer> find(UUID uuid) throws Exception {
+        var map = StringKeyDatabase.findPlayerData(plugin, tableName, uuid);
+        if (map.isEmpty()) return Map.of();
+        Map<String, Integer> result = new HashMap<>();
+        for (String k : keys) result.put(k, map.getOrDefault(k, 0));
+        return result;
+    }
+
     @Override
     public void save(UUID uuid, Map<String, Integer> data) throws Exception {
-        StringKeyDatabase.savePlayerData(plugin, tableName, uuid, data);
+        saveAll(Map.of(uuid, data));
     }
 
     @Override
     public void saveAll(Map<UUID, Map<String, Integer>> snapshot) throws Exception {
-        StringKeyDatabase.saveAllData(plugin, tableName, snapshot);
+        if (StringKeyDatabase.saveDelta(plugin, tableName, snapshot) < 0) {
+            throw new IllegalStateException("Failed to save " + snapshot.size() + " player(s) to " + tableName);
+        }
     }
-}
 
+    @Override
+    public Map<UUID, Map<String, Integer>> addAll(UUID flushId, Map<UUID, Map<String, Integer>> deltas) throws Exception {
+        Map<UUID, Map<String, Integer>> totals = StringKeyDatabase.addDelta(plugin, tableName, flushId, deltas);
+        if (totals == null) {
+            throw new IllegalStateException("Failed to add to " + deltas.size() + " player(s) in " + tableName);
+        }
+        return totals;
+    }
+}
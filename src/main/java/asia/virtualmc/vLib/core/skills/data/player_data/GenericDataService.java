@@ -1,81 +1,500 @@
 package asia.virtualmc.vLib.core.skills.data.player_data;
 
-import asia.virtualmc.vLib.utilities.paper.AsyncUtils;
+import asia.virtualmc.vLib.core.skills.data.OfflineCache;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataLoader;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataPipeline;
+import asia.virtualmc.vLib.core.skills.data.WriteBehindQueue;
+import asia.virtualmc.vLib.storage.redis.PlayerHandoff;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class GenericDataService implements DataReader, DataWriter, PlayerDataLoader {
+
+    /**
+     * How changes are written to the database.
+     */
+    public enum WriteMode {
+        /** Writes the cached value, replacing the stored one. Use when one server owns the player's data. */
+        ABSOLUTE,
+        /**
+         * Writes the change since the last flush and adds it to the stored amount, then refreshes the
+         * cache from the stored total. Lets several servers update the same counters without overwriting
+         * each other. Requires an {@link AdditiveDatabase}.
+         * <p>
+         * A failed batch is retried unchanged under the same flush id before newer changes are written,
+         * so a write that did commit despite the error is not added twice.
+         */
+        ADDITIVE
+    }
+
+    /**
+     * One additive write: the deltas taken from the players, and the id the database uses to apply them once.
+     */
+    private record AdditiveFlush(UUID id, Map<UUID, Map<String, Integer>> deltas,
+                                 Map<UUID, PlayerValues> players, int rows) {}
+
+    private static final double DEFAULT_FLUSH_INTERVAL = 5.0;
+    private static final int DEFAULT_FLUSH_THRESHOLD = 256;
 
-public class GenericDataService implements DataReader, DataWriter {
     private final Plugin plugin;
     private final GenericDatabase database;
-    private final DataSchema schema;
-    private final ConcurrentHashMap<UUID, ConcurrentHashMap<String, Integer>> cache = new ConcurrentHashMap<>();
+    private final CompiledSchema compiled;
+    private final boolean additive;
+    // One dense array per player, indexed by KeyHandle.index()
+    private final ConcurrentHashMap<UUID, PlayerValues> cache = new ConcurrentHashMap<>();
+    private final WriteBehindQueue<UUID> writeQueue = new WriteBehindQueue<>(this::write);
+    // Players whose unload save failed; kept cached until a flush writes them
+    private final Set<UUID> unloading = ConcurrentHashMap.newKeySet();
+    // Additive batch whose write failed; only touched by the writer, which the queue runs one at a time
+    private AdditiveFlush unconfirmed;
+    // Read-only copies of offline players; never written back
+    private final OfflineCache<Map<String, Integer>> offline;
+    // Redis handoff key of this table; see PlayerHandoff
+    private final String namespace;
+    private final Consumer<UUID> invalidator;
+
+    // Metrics: rows written vs. rows a full save would have written
+    private final AtomicLong savedRows = new AtomicLong();
+    private final AtomicLong fullRows = new AtomicLong();
 
     public GenericDataService(Plugin plugin, GenericDatabase database, DataSchema schema) {
+        this(plugin, database, schema, WriteMode.ABSOLUTE);
+    }
+
+    public GenericDataService(Plugin plugin, GenericDatabase database, DataSchema schema, WriteMode mode) {
         this.plugin = plugin;
         this.database = database;
-        this.schema = schema;
+        this.compiled = CompiledSchema.compile(schema);
+        this.additive = mode == WriteMode.ADDITIVE;
+        if (additive && !(database instanceof AdditiveDatabase)) {
+            throw new IllegalArgumentException(database.getClass().getSimpleName() + " does not support additive writes");
+        }
+        this.offline = new OfflineCache<>(uuid -> Collections.unmodifiableMap(database.find(uuid)));
+        this.namespace = "generic:" + plugin.getName() + ":" + schema.tableName();
+        this.invalidator = offline::invalidate;
+        PlayerHandoff.onInvalidate(namespace, invalidator);
+        PlayerDataPipeline.register(this);
+        startFlusher(DEFAULT_FLUSH_INTERVAL, DEFAULT_FLUSH_THRESHOLD);
+    }
+
+    /**
+     * Changes how often pending changes are written. Changes to the same player between
+     * flushes are merged into one save.
+     *
+     * @param interval  seconds between flushes
+     * @param threshold number of changed players that triggers an early flush
+     */
+    public void startFlusher(double interval, int threshold) {
+        writeQueue.start(plugin, interval, threshold);
+    }
+
+    /**
+     * Stops the flush task and writes every pending change. Call from {@code onDisable}.
+     */
+    public void shutdown() {
+        writeQueue.stop();
+        PlayerDataPipeline.unregister(this);
+        PlayerHandoff.removeListener(namespace, invalidator);
+        saveAll();
     }
 
+    @Override
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    @Override
+    public boolean isLoaded(UUID uuid) {
+        return cache.containsKey(uuid);
+    }
+
+    /**
+     * Loads a player, preferring the snapshot handed off by the server they came from.
+     */
     @Override
     public void load(UUID uuid) {
+        // Still cached after a failed unload save; those values are newer than the stored ones
+        if (unloading.remove(uuid) && cache.containsKey(uuid)) return;
         try {
-            Map<String, Integer> data = database.load(uuid);
-            cache.put(uuid, new ConcurrentHashMap<>(data));
-        } catch (Exception ignored) {}
+            Map<String, Integer> data = receiveHandoff(uuid);
+            if (data == null) data = database.load(uuid);
+            PlayerValues player = new PlayerValues(compiled.size(), additive);
+            for (int i = 0; i < compiled.size(); i++) {
+                Integer value = data.get(compiled.name(i));
+                if (value != null) player.values.set(i, value);
+            }
+            cache.put(uuid, player);
+            offline.invalidate(uuid);
+        } catch (Exception e) {
+            ConsoleUtils.severe(prefix(), "Failed to load player data for " + uuid + " : " + e.getMessage());
+            // Nothing is cached, so nothing here can overwrite what another server loads
+            PlayerHandoff.release(namespace, uuid);
+        }
     }
 
+    /**
+     * Takes the snapshot handed off by the player's previous server.
+     *
+     * @return the handed-off values, or null if there is none or it can not be read
+     */
+    private Map<String, Integer> receiveHandoff(UUID uuid) {
+        String snapshot = PlayerHandoff.receive(namespace, uuid);
+        if (snapshot == null) return null;
+        try {
+            return decode(snapshot);
+        } catch (RuntimeException e) {
+            ConsoleUtils.severe(prefix(), "Unreadable handoff of " + uuid + ", loading from the database: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves the keys of this player that changed since the last save.
+     * Runs after any flush in progress; on failure the player is queued for the next flush.
+     */
     @Override
     public void save(UUID uuid) {
-        Map<String, Integer> map = cache.get(uuid);
-        if (map == null) return;
-        try {
-            database.save(uuid, new HashMap<>(map));
-        } catch (Exception ignored) {}
+        if (!cache.containsKey(uuid)) return;
+        persist(uuid);
     }
 
+    /**
+     * Writes every player changed since the last flush in one batch.
+     * Waits for a flush already in progress, so nothing is still in flight when this returns.
+     */
     @Override
     public void saveAll() {
-        Map<UUID, Map<String, Integer>> snapshot = new HashMap<>();
-        for (var e : cache.entrySet()) {
-            snapshot.put(e.getKey(), new HashMap<>(e.getValue()));
-        }
         try {
-            database.saveAll(snapshot);
-        } catch (Exception ignored) {}
+            writeQueue.flushAll();
+        } catch (Exception e) {
+            ConsoleUtils.severe(prefix(), "Failed to store all player data: " + e.getMessage());
+        }
     }
 
+    /**
+     * Saves pending changes and removes the player. With Redis enabled, the cached values are
+     * handed off to the next server before the final save.
+     * <p>
+     * If the save fails, the player stays cached and queued, and is removed once a later flush
+     * writes them.
+     */
     @Override
     public void unload(UUID uuid) {
-        try { save(uuid); } finally { cache.remove(uuid); }
+        boolean[] saved = {true};
+        Runnable save = () -> {
+            if (writeQueue.isDirty(uuid)) saved[0] = persist(uuid);
+        };
+        try {
+            PlayerValues player = cache.get(uuid);
+            if (player != null && PlayerHandoff.isEnabled()) {
+                PlayerHandoff.handOff(namespace, uuid, encode(player), save);
+            } else {
+                save.run();
+            }
+        } catch (Exception e) {
+            saved[0] = false;
+        }
+
+        if (!saved[0]) {
+            unloading.add(uuid);
+            writeQueue.mark(uuid);
+            ConsoleUtils.warning(prefix(), "Keeping data of " + uuid + " cached until the next flush saves it.");
+            return;
+        }
+        release(uuid);
+    }
+
+    /**
+     * Returns the write-behind queue, exposing queue depth and flush latency.
+     */
+    public WriteBehindQueue<UUID> getWriteQueue() {
+        return writeQueue;
+    }
+
+    /**
+     * Returns the share of rows actually written compared to saving every key of each saved player.
+     * Lower is better; 1.0 means every save touched every key.
+     */
+    public double getSavedRowRatio() {
+        long full = fullRows.get();
+        return full == 0 ? 0.0 : (double) savedRows.get() / full;
+    }
+
+    public long getSavedRows() {
+        return savedRows.get();
+    }
+
+    /**
+     * Writes one player through the write-behind queue.
+     *
+     * @return false if the save failed; the player is queued again
+     */
+    private boolean persist(UUID uuid) {
+        try {
+            writeQueue.write(uuid);
+            return true;
+        } catch (Exception e) {
+            ConsoleUtils.severe(prefix(), "Failed to store player data for " + uuid + ": " + e.getMessage());
+            return false;
+        }
     }
 
+    private void write(Set<UUID> uuids) {
+        if (additive) {
+            writeAdditive(uuids);
+        } else {
+            writeAbsolute(uuids);
+        }
+        written(uuids);
+    }
+
+    /**
+     * Called after the given players were persisted. Releases those whose unload save had failed,
+     * unless they rejoined in the meantime.
+     */
+    private void written(Set<UUID> uuids) {
+        if (unloading.isEmpty()) return;
+        for (UUID uuid : uuids) {
+            if (unloading.remove(uuid) && Bukkit.getPlayer(uuid) == null) release(uuid);
+        }
+    }
+
+    private void release(UUID uuid) {
+        cache.remove(uuid);
+        offline.invalidate(uuid);
+        PlayerHandoff.release(namespace, uuid);
+    }
+
+    private String prefix() {
+        return "[" + plugin.getName() + "]";
+    }
+
+    private void writeAbsolute(Set<UUID> uuids) {
+        Map<UUID, Map<String, Integer>> deltas = new HashMap<>();
+        Map<PlayerValues, long[]> drained = new HashMap<>();
+        int rows = 0;
+        for (UUID uuid : uuids) {
+            PlayerValues player = cache.get(uuid);
+            if (player == null) continue;
+            long[] changed = player.drainChanged();
+            Map<String, Integer> delta = toDelta(player, changed);
+            if (delta.isEmpty()) continue;
+            deltas.put(uuid, delta);
+            drained.put(player, changed);
+            rows += delta.size();
+        }
+        if (deltas.isEmpty()) return;
+        try {
+            database.saveAll(deltas);
+            recordSaved(rows, deltas.size());
+        } catch (Exception e) {
+            drained.forEach(PlayerValues::restoreChanged);
+            throw new IllegalStateException("Failed to save " + deltas.size() + " player(s): " + e.getMessage(), e);
+        }
+    }
+
+    private void writeAdditive(Set<UUID> uuids) {
+        AdditiveFlush retry = unconfirmed;
+        if (retry != null) {
+            addAll(retry);
+            unconfirmed = null;
+        }
+
+        Map<UUID, Map<String, Integer>> deltas = new HashMap<>();
+        Map<UUID, PlayerValues> players = new HashMap<>();
+        int rows = 0;
+        for (UUID uuid : uuids) {
+            PlayerValues player = cache.get(uuid);
+            if (player == null) continue;
+            Map<String, Integer> delta = takePending(player);
+            if (delta.isEmpty()) continue;
+            deltas.put(uuid, delta);
+            players.put(uuid, player);
+            rows += delta.size();
+        }
+        if (deltas.isEmpty()) return;
+
+        AdditiveFlush flush = new AdditiveFlush(UUID.randomUUID(), deltas, players, rows);
+        unconfirmed = flush;
+        addAll(flush);
+        unconfirmed = null;
+    }
+
+    /**
+     * Applies one additive batch and adopts the stored totals. On failure the batch is kept
+     * as {@link #unconfirmed} by the caller and retried with the same id.
+     */
+    private void addAll(AdditiveFlush flush) {
+        Map<UUID, Map<String, Integer>> totals;
+        try {
+            totals = ((AdditiveDatabase) database).addAll(flush.id(), flush.deltas());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to save " + flush.deltas().size() + " player(s): " + e.getMessage(), e);
+        }
+        recordSaved(flush.rows(), flush.deltas().size());
+
+        // Other servers may have added to the same keys; adopt the stored totals.
+        totals.forEach((uuid, keys) -> {
+            PlayerValues player = flush.players().get(uuid);
+            if (player == null) return;
+            keys.forEach((key, total) -> {
+                KeyHandle handle = compiled.handle(key);
+                if (handle != null) player.reconcile(handle.index(), total);
+            });
+        });
+    }
+
+    private Map<String, Integer> takePending(PlayerValues player) {
+        long[] changed = player.drainChanged();
+        Map<String, Integer> delta = new HashMap<>();
+        for (int word = 0; word < changed.length; word++) {
+            long bits = changed[word];
+            while (bits != 0L) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                int amount = player.takePending(index);
+                if (amount != 0) delta.put(compiled.name(index), amount);
+                bits &= bits - 1;
+            }
+        }
+        return delta;
+    }
+
+    private void recordSaved(int rows, int players) {
+        savedRows.addAndGet(rows);
+        fullRows.addAndGet((long) players * compiled.size());
+    }
+
+    private Map<String, Integer> toDelta(PlayerValues player, long[] changed) {
+        Map<String, Integer> delta = new HashMap<>();
+        for (int word = 0; word < changed.length; word++) {
+            long bits = changed[word];
+            while (bits != 0L) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                delta.put(compiled.name(index), player.values.get(index));
+                bits &= bits - 1;
+            }
+        }
+        return delta;
+    }
+
+    private Map<String, Integer> toMap(AtomicIntegerArray values) {
+        Map<String, Integer> map = new HashMap<>(compiled.size() * 2);
+        for (int i = 0; i < compiled.size(); i++) {
+            map.put(compiled.name(i), values.get(i));
+        }
+        return map;
+    }
+
+    private String encode(PlayerValues player) {
+        Map<String, String> values = new HashMap<>(compiled.size() * 2);
+        for (int i = 0; i < compiled.size(); i++) {
+            values.put(compiled.name(i), Integer.toString(player.values.get(i)));
+        }
+        return PlayerHandoff.encode(values);
+    }
+
+    private Map<String, Integer> decode(String snapshot) {
+        Map<String, Integer> data = new HashMap<>();
+        PlayerHandoff.decode(snapshot).forEach((key, value) -> data.put(key, Integer.parseInt(value)));
+        return data;
+    }
+
+    // ---------- Handles (hot path) ----------
+
+    /**
+     * Resolves a key once for use with the {@link KeyHandle} overloads.
+     *
+     * @return the handle, or null if the key is not part of the schema
+     */
+    public KeyHandle handle(String key) {
+        return compiled.handle(key);
+    }
+
+    public CompiledSchema getSchema() {
+        return compiled;
+    }
+
+    @Override
+    public int get(UUID uuid, KeyHandle key) {
+        if (!compiled.owns(key)) return 0;
+        PlayerValues player = cache.get(uuid);
+        return (player == null) ? 0 : player.values.get(key.index());
+    }
+
+    @Override
+    public void add(UUID uuid, KeyHandle key, int amount) {
+        if (!compiled.owns(key)) return;
+        PlayerValues player = cache.get(uuid);
+        if (player == null) return;
+        if (additive) {
+            player.addPending(key.index(), amount);
+        } else {
+            player.values.addAndGet(key.index(), amount);
+            player.markChanged(key.index());
+        }
+        writeQueue.mark(uuid);
+    }
+
+    @Override
+    public void set(UUID uuid, KeyHandle key, int amount) {
+        if (!compiled.owns(key)) return;
+        PlayerValues player = cache.get(uuid);
+        if (player == null) return;
+        if (additive) {
+            player.setPending(key.index(), amount);
+        } else {
+            player.values.set(key.index(), amount);
+            player.markChanged(key.index());
+        }
+        writeQueue.mark(uuid);
+    }
+
+    // ---------- String keys ----------
+
     @Override
     public int get(UUID uuid, String key) {
-        if (!schema.contains(key)) return 0;
-        Map<String, Integer> m = cache.get(uuid);
-        return (m == null) ? 0 : m.getOrDefault(key, 0);
+        return get(uuid, compiled.handle(key));
     }
 
     @Override
     public Map<String, Integer> getAll(UUID uuid) {
-        Map<String, Integer> m = cache.get(uuid);
-        return (m == null) ? Collections.emptyMap() : new HashMap<>(m);
+        PlayerValues player = cache.get(uuid);
+        return (player == null) ? Collections.emptyMap() : toMap(player.values);
+    }
+
+    /**
+     * Returns all values of a player whether or not they are online. Online players are answered
+     * from memory; others are read off-thread through a bounded, expiring cache kept apart from the
+     * online cache, so concurrent lookups of the same player share one database read.
+     * The read has no side effects; players without stored values complete with an empty map.
+     *
+     * @return a future completing with key -> amount, or exceptionally if the database read fails
+     */
+    public CompletableFuture<Map<String, Integer>> getAllOffline(UUID uuid) {
+        PlayerValues player = cache.get(uuid);
+        if (player != null) return CompletableFuture.completedFuture(toMap(player.values));
+        return offline.get(uuid);
+    }
+
+    public OfflineCache<Map<String, Integer>> getOfflineCache() {
+        return offline;
     }
 
     @Override
     public void add(UUID uuid, String key, int amount) {
-        if (!schema.contains(key)) return;
-        Map<String, Integer> m = cache.get(uuid);
-        if (m == null) return;
-        m.merge(key, amount, Integer::sum);
-        AsyncUtils.runAsync(plugin, () -> {
-            save(uuid);
-        });
+        add(uuid, compiled.handle(key), amount);
     }
 
     @Override
@@ -91,12 +510,6 @@ public class GenericDataService implements DataReader, DataWriter {
 
     @Override
     public void set(UUID uuid, String key, int amount) {
-        if (!schema.contains(key)) return;
-        Map<String, Integer> m = cache.get(uuid);
-        if (m == null) return;
-        m.put(key, amount);
-        AsyncUtils.runAsync(plugin, () -> {
-            save(uuid);
-        });
+        set(uuid, compiled.handle(key), amount);
     }
 }
@@ -5,6 +5,25 @@ import java.util.UUID;
 
 public interface GenericDatabase {
     Map<String, Integer> load(UUID uuid) throws Exception;
+
+    /**
+     * Reads a player's stored values without creating anything, e.g. for offline lookups.
+     * The default delegates to {@link #load(UUID)}; backends whose load creates rows override it.
+     *
+     * @return key -> amount; empty if the player has no stored values
+     */
+    default Map<String, Integer> find(UUID uuid) throws Exception {
+        return load(uuid);
+    }
+
+    /**
+     * Writes the given keys of one player. Keys missing from {@code data} are left untouched,
+     * so callers may pass only the keys that changed.
+     */
     void save(UUID uuid, Map<String, Integer> data) throws Exception;
+
+    /**
+     * Writes the given keys of several players; keys missing from a player's map are left untouched.
+     */
     void saveAll(Map<UUID, Map<String, Integer>> snapshot) throws Exception;
 }
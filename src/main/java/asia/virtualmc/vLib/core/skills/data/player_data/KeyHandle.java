@@ -0,0 +1,26 @@
+package asia.virtualmc.vLib.core.skills.data.player_data;
+
+/**
+ * Pre-resolved key of a {@link CompiledSchema}. Resolve it once (e.g. in a field) with
+ * {@link GenericDataService#handle(String)} and pass it on hot paths to skip the String lookup.
+ */
+public final class KeyHandle {
+    private final CompiledSchema schema;
+    private final int index;
+    private final String name;
+
+    KeyHandle(CompiledSchema schema, int index, String name) {
+        this.schema = schema;
+        this.index = index;
+        this.name = name;
+    }
+
+    CompiledSchema schema() { return schema; }
+    int index() { return index; }
+    public String name() { return name; }
+
+    @Override
+    public String toString() {
+        return "KeyHandle[" + name + "]";
+    }
+}
@@ -0,0 +1,81 @@
+package asia.virtualmc.vLib.core.skills.data.player_data;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * One player's cached values plus a bitset of the keys changed since the last save.
+ * A value is written before its bit is set, and a save clears bits before reading values,
+ * so a change racing with a save is either included or stays marked for the next one.
+ * <p>
+ * In additive mode the player also keeps the per-key deltas not yet written. Those methods
+ * lock this object so a value and its pending delta always move together.
+ */
+final class PlayerValues {
+    private static final LongBinaryOperator OR = (a, b) -> a | b;
+
+    final AtomicIntegerArray values;
+    private final AtomicLongArray changed;
+    // Additive mode only; guarded by this
+    private final int[] pending;
+
+    PlayerValues(int size, boolean additive) {
+        this.values = new AtomicIntegerArray(size);
+        this.changed = new AtomicLongArray((size + 63) >>> 6);
+        this.pending = additive ? new int[size] : null;
+    }
+
+    void markChanged(int index) {
+        changed.accumulateAndGet(index >>> 6, 1L << index, OR);
+    }
+
+    /**
+     * Clears and returns the changed-key bitset.
+     */
+    long[] drainChanged() {
+        long[] bits = new long[changed.length()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = changed.getAndSet(i, 0L);
+        }
+        return bits;
+    }
+
+    /**
+     * Marks the keys again after a failed save.
+     */
+    void restoreChanged(long[] bits) {
+        for (int i = 0; i < bits.length; i++) {
+            if (bits[i] != 0L) changed.accumulateAndGet(i, bits[i], OR);
+        }
+    }
+
+    // ---------- Additive mode ----------
+
+    synchronized void addPending(int index, int amount) {
+        values.addAndGet(index, amount);
+        pending[index] += amount;
+        markChanged(index);
+    }
+
+    synchronized void setPending(int index, int amount) {
+        pending[index] += amount - values.getAndSet(index, amount);
+        markChanged(index);
+    }
+
+    /**
+     * Removes and returns the delta not yet written for this key.
+     */
+    synchronized int takePending(int index) {
+        int delta = pending[index];
+        pending[index] = 0;
+        return delta;
+    }
+
+    /**
+     * Replaces the cached value with the stored total plus whatever changed locally since the write.
+     */
+    synchronized void reconcile(int index, int total) {
+        values.set(index, total + pending[index]);
+    }
+}
@@ -0,0 +1,108 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Primitive, precompiled form of a skill's experience table and trait point gains.
+ * Resolves any number of level-ups with one binary search instead of stepping level by level.
+ */
+public final class EXPCurve {
+    private static final double CAP_EXP = 9999999999.00;
+
+    // requiredEXP[level] = total EXP needed to reach that level (index 0 and 1 unused)
+    private final double[] requiredEXP;
+    // totalPoints[level] = trait points gained from level 2 up to that level (capped at maxLevel)
+    private final int[] totalPoints;
+    private final int lastLevel;
+
+    private EXPCurve(double[] requiredEXP, int[] totalPoints) {
+        this.requiredEXP = requiredEXP;
+        this.totalPoints = totalPoints;
+        this.lastLevel = requiredEXP.length - 1;
+    }
+
+    /**
+     * Compiles the boxed tables returned by {@code SkillsEXPConfig.get} and {@code InnateTraitConfig.getPoints}.
+     * Levels are read from 2 upwards until the first missing or zero entry, matching the old per-level walk.
+     * Requirements are made non-decreasing so the binary search is well defined.
+     *
+     * @param expTable    level -> total exp required to reach that level
+     * @param traitPoints level -> trait points gained when reaching that level
+     * @param maxLevel    last level that still grants trait points
+     * @return the compiled curve
+     */
+    public static EXPCurve compile(@NotNull Map<Integer, Double> expTable,
+                                   @NotNull Map<Integer, Integer> traitPoints,
+                                   int maxLevel) {
+        int last = 1;
+        while (expTable.getOrDefault(last + 1, 0.0) > 0) {
+            last++;
+        }
+
+        double[] required = new double[last + 1];
+        int[] points = new int[last + 1];
+        for (int level = 2; level <= last; level++) {
+            required[level] = Math.max(expTable.get(level), required[level - 1]);
+            int gain = level <= maxLevel ? traitPoints.getOrDefault(level, 0) : 0;
+            points[level] = points[level - 1] + gain;
+        }
+
+        return new EXPCurve(required, points);
+    }
+
+    /**
+     * Returns the required EXP for the next level or a very large number at cap.
+     *
+     * @param level current level
+     * @return exp required to reach next level
+     */
+    public double getNextEXP(int level) {
+        int next = level + 1;
+        if (next < 2 || next > lastLevel) return CAP_EXP;
+        return requiredEXP[next];
+    }
+
+    /**
+     * Returns the highest level reachable with the given EXP, never lower than the current level.
+     *
+     * @param level current level
+     * @param exp   current total EXP
+     * @return the resolved level
+     */
+    public int getLevel(int level, double exp) {
+        if (exp < getNextEXP(level)) return level;
+
+        int low = Math.max(level + 1, 2);
+        int high = lastLevel;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (requiredEXP[mid] <= exp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the trait points gained when going from one level to a higher one.
+     *
+     * @param from previous level
+     * @param to   new level
+     * @return total trait points for every level in (from, to]
+     */
+    public int getTraitPoints(int from, int to) {
+        return totalPoints[clamp(to)] - totalPoints[clamp(from)];
+    }
+
+    public int getLastLevel() {
+        return lastLevel;
+    }
+
+    private int clamp(int level) {
+        return Math.max(1, Math.min(level, lastLevel));
+    }
+}
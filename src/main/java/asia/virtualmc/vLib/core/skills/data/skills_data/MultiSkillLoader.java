@@ -0,0 +1,219 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataLoader;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataPipeline;
+import asia.virtualmc.vLib.core.skills.data.WriteBehindQueue;
+import asia.virtualmc.vLib.storage.DatabaseExecutor;
+import asia.virtualmc.vLib.storage.redis.PlayerHandoff;
+import asia.virtualmc.vLib.utilities.enums.EnumsLib;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import asia.virtualmc.vLib.utilities.paper.TaskUtils;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads and saves every MySQL-backed {@link SkillsData} as one unit.
+ * A player's rows for all registered skills are fetched with a single UNION ALL query,
+ * and {@link #saveAll()} writes every skill's pending changes in one transaction. One shared
+ * write-behind task calls it in place of a flush per skill.
+ * <p>
+ * SkillsData using {@link SkillsDatabaseAdapter} joins automatically; other backends load and save on their own.
+ */
+public final class MultiSkillLoader implements PlayerDataLoader {
+    private static final MultiSkillLoader INSTANCE = new MultiSkillLoader();
+    private static final Map<EnumsLib.Skills, SkillsData> skills = new ConcurrentHashMap<>();
+
+    private static final Object flusherLock = new Object();
+    private static final Object saveLock = new Object();
+    private static ScheduledTask flusher;
+    private static double flushInterval;
+
+    private MultiSkillLoader() {}
+
+    /**
+     * Returns the shared loader, e.g. to join its in-flight load through {@link PlayerDataPipeline}.
+     */
+    static MultiSkillLoader loader() {
+        return INSTANCE;
+    }
+
+    /**
+     * Adds a skill to the shared load and save. Replaces any previous SkillsData of the same skill.
+     *
+     * @param data the skill's data service
+     */
+    public static void register(@NotNull SkillsData data) {
+        skills.put(data.getSkill(), data);
+        PlayerDataPipeline.register(INSTANCE);
+    }
+
+    public static void unregister(@NotNull SkillsData data) {
+        skills.remove(data.getSkill(), data);
+    }
+
+    /**
+     * Returns the write-behind queue of every registered skill, keyed by plugin name.
+     */
+    public static Map<String, WriteBehindQueue<UUID>> getQueues() {
+        Map<String, WriteBehindQueue<UUID>> queues = new TreeMap<>();
+        for (SkillsData data : skills.values()) {
+            queues.put(data.getPlugin().getName(), data.getWriteQueue());
+        }
+        return queues;
+    }
+
+    /**
+     * Starts the shared write-behind task, or restarts it if a shorter interval is requested.
+     * The task is owned by vLib, so it outlives the reload of a single skill plugin.
+     *
+     * @param interval interval between flushes in seconds
+     */
+    static void startFlusher(double interval) {
+        synchronized (flusherLock) {
+            if (flusher != null && interval >= flushInterval) return;
+            if (flusher != null) flusher.cancel();
+            flushInterval = interval;
+            flusher = TaskUtils.repeatingAsync(Main.getInstance(),
+                    () -> DatabaseExecutor.run(DatabaseExecutor.Priority.SAVE, MultiSkillLoader::saveAll), interval);
+        }
+    }
+
+    /**
+     * Persists pending changes of every registered skill in one transaction.
+     * Waits for flushes already running on any of the skills, so nothing is in flight when this returns.
+     * If the transaction fails, all drained players are queued again for the next flush.
+     */
+    public static void saveAll() {
+        // Drains hold every skill's queue until complete; one caller at a time keeps that deadlock-free.
+        synchronized (saveLock) {
+            Map<String, Map<UUID, asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats>> all = new HashMap<>();
+            Map<SkillsData, Set<UUID>> drained = new HashMap<>();
+            Map<SkillsData, Long> journalPositions = new HashMap<>();
+
+            for (SkillsData data : skills.values()) {
+                try {
+                    data.forceJournal();
+                } catch (RuntimeException e) {
+                    ConsoleUtils.severe("[" + data.getPlugin().getName() + "]", "Failed to force skills journal: " + e.getMessage());
+                }
+                journalPositions.put(data, data.getJournalPosition());
+                Set<UUID> batch = data.getWriteQueue().drain(true);
+                if (batch.isEmpty()) continue;
+                drained.put(data, batch);
+
+                Map<UUID, asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats> rows = new HashMap<>();
+                for (Map.Entry<UUID, SkillsDatabase.PlayerDataDB> entry : data.snapshot(batch).entrySet()) {
+                    rows.put(entry.getKey(), SkillsDatabaseAdapter.toStats(entry.getValue()));
+                }
+                all.put(data.getPlugin().getName(), rows);
+            }
+            if (drained.isEmpty()) {
+                journalPositions.forEach(SkillsData::compactJournal);
+                return;
+            }
+
+            Map<String, Integer> rows = null;
+            try {
+                rows = asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.saveAllSkills(all);
+            } finally {
+                for (Map.Entry<SkillsData, Set<UUID>> entry : drained.entrySet()) {
+                    SkillsData data = entry.getKey();
+                    int count = rows != null ? rows.getOrDefault(data.getPlugin().getName(), 0) : 0;
+                    data.getWriteQueue().complete(entry.getValue(), rows != null, count);
+                    if (rows != null) data.written(entry.getValue());
+                }
+            }
+            if (rows != null) {
+                journalPositions.forEach(SkillsData::compactJournal);
+            } else {
+                ConsoleUtils.severe("Failed to store skills data of " + drained.size() + " skill(s); retrying with the next flush.");
+            }
+        }
+    }
+
+    // ---------- PlayerDataLoader ----------
+
+    @Override
+    public Plugin getPlugin() {
+        return Main.getInstance();
+    }
+
+    @Override
+    public boolean isLoaded(@NotNull UUID uuid) {
+        for (SkillsData data : skills.values()) {
+            if (!data.isLoaded(uuid)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fills every registered skill that does not hold the player yet, from a Redis handoff if one
+     * exists and otherwise with one query. Skills missing from the result fall back to their own load.
+     *
+     * @param uuid player UUID
+     */
+    @Override
+    public void load(@NotNull UUID uuid) {
+        List<SkillsData> pending = new ArrayList<>();
+        List<String> pluginNames = new ArrayList<>();
+        // One wait for the previous server, shared by every skill
+        long deadline = PlayerHandoff.deadline();
+        for (SkillsData data : skills.values()) {
+            if (!data.getPlugin().isEnabled()) {
+                unregister(data);
+                continue;
+            }
+            if (data.isLoaded(uuid)) continue;
+            try {
+                if (data.receiveHandoff(uuid, deadline)) continue;
+            } catch (Exception e) {
+                ConsoleUtils.severe("[" + data.getPlugin().getName() + "]",
+                        "Failed to read handed-off data for " + uuid + ": " + e.getMessage());
+            }
+            pending.add(data);
+            pluginNames.add(data.getPlugin().getName());
+        }
+        if (pending.isEmpty()) return;
+
+        Map<String, asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats> rows =
+                asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.loadAllSkills(pluginNames, uuid);
+
+        for (SkillsData data : pending) {
+            asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats stats = rows.get(data.getPlugin().getName());
+            try {
+                if (stats != null) {
+                    data.fill(uuid, SkillsDatabaseAdapter.toData(stats));
+                } else {
+                    data.load(uuid);
+                }
+            } catch (Exception e) {
+                ConsoleUtils.severe("[" + data.getPlugin().getName() + "]",
+                        "Failed to load player data for " + uuid + ": " + e.getMessage());
+                data.releaseHandoff(uuid);
+            }
+        }
+    }
+
+    /**
+     * Unloads the player from every registered skill.
+     *
+     * @param uuid player UUID
+     */
+    @Override
+    public void unload(@NotNull UUID uuid) {
+        for (SkillsData data : skills.values()) {
+            data.unload(uuid);
+        }
+    }
+}
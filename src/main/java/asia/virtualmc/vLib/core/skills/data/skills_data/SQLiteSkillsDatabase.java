@@ -0,0 +1,211 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import asia.virtualmc.vLib.storage.mysql.utilities.MySQLUtils;
+import asia.virtualmc.vLib.storage.sqlite.SQLiteConnection;
+import asia.virtualmc.vLib.storage.sqlite.SQLiteWriter;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+/**
+ * SQLite implementation of {@link SkillsDatabase}, stored in {@code <dataFolder>/skills.db}.
+ * Rows are keyed by player UUID, so no {@code vlib_players} table (and no MySQL) is needed.
+ * <p>
+ * Writes go through the file's single {@link SQLiteWriter}, which group-commits concurrent saves;
+ * reads use the read-only pool and never wait for the writer. Batch saves are one job of
+ * {@code INSERT ... ON CONFLICT DO UPDATE} upserts, on a statement the writer prepares once and reuses.
+ */
+public final class SQLiteSkillsDatabase implements SkillsDatabase {
+    private static final String COLUMNS = "uuid, playerName, playerEXP, playerBXP, playerXPM, playerLevel, " +
+            "playerLuck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait";
+
+    private final Plugin plugin;
+    private final File file;
+
+    public SQLiteSkillsDatabase(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "skills.db");
+    }
+
+    @Override
+    public void createTable(Plugin plugin, String tableName) {
+        String table = MySQLUtils.toSafeIdentifer(tableName);
+        try {
+            SQLiteConnection.write(this.plugin, file, conn -> {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                            "uuid TEXT NOT NULL PRIMARY KEY, " +
+                            "playerName TEXT NOT NULL DEFAULT 'Unknown', " +
+                            "playerEXP REAL NOT NULL DEFAULT 0.00, " +
+                            "playerBXP REAL NOT NULL DEFAULT 0.00, " +
+                            "playerXPM REAL NOT NULL DEFAULT 1.00, " +
+                            "playerLevel INTEGER NOT NULL DEFAULT 1, " +
+                            "playerLuck INTEGER NOT NULL DEFAULT 0, " +
+                            "traitPoints INTEGER NOT NULL DEFAULT 1, " +
+                            "talentPoints INTEGER NOT NULL DEFAULT 0, " +
+                            "wisdomTrait INTEGER NOT NULL DEFAULT 0, " +
+                            "charismaTrait INTEGER NOT NULL DEFAULT 0, " +
+                            "karmaTrait INTEGER NOT NULL DEFAULT 0, " +
+                            "dexterityTrait INTEGER NOT NULL DEFAULT 0, " +
+                            "lastUpdated TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                            ")");
+                }
+                return null;
+            }).join();
+        } catch (CompletionException | IllegalStateException e) {
+            ConsoleUtils.severe(prefix(), "Failed to create player data table: " + cause(e).getMessage());
+        }
+    }
+
+    @Override
+    public PlayerDataDB load(Plugin plugin, String table, UUID uuid) {
+        String safeTable = MySQLUtils.toSafeIdentifer(table);
+        try (Connection conn = SQLiteConnection.getReader(this.plugin, file);
+             PreparedStatement select = conn.prepareStatement("SELECT " + COLUMNS + " FROM " +
+                     safeTable + " WHERE uuid = ?")) {
+            select.setString(1, uuid.toString());
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) return read(rs);
+            }
+
+            // New player: create the row in the background; later saves are queued behind it.
+            SQLiteWriter writer = SQLiteConnection.writer(this.plugin, file);
+            writer.submit(writerConn -> {
+                PreparedStatement insert = writer.prepare("INSERT INTO " + safeTable +
+                        " (uuid) VALUES (?) ON CONFLICT(uuid) DO NOTHING");
+                insert.setString(1, uuid.toString());
+                return insert.executeUpdate();
+            }).exceptionally(e -> {
+                ConsoleUtils.severe(prefix(), "Failed to create data row for player " + uuid + ": " + cause(e).getMessage());
+                return null;
+            });
+        } catch (SQLException | IllegalStateException e) {
+            ConsoleUtils.severe(prefix(), "Failed to load data for player " + uuid + ": " + e.getMessage());
+        }
+        return new PlayerDataDB("Unknown", 0.0, 0.0, 1.0, 1, 0, 1, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public PlayerDataDB find(Plugin plugin, String table, UUID uuid) {
+        try (Connection conn = SQLiteConnection.getReader(this.plugin, file);
+             PreparedStatement select = conn.prepareStatement("SELECT " + COLUMNS + " FROM " +
+                     MySQLUtils.toSafeIdentifer(table) + " WHERE uuid = ?")) {
+            select.setString(1, uuid.toString());
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? read(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read data for player " + uuid + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<UUID, PlayerDataDB> loadAll(Plugin plugin, String table) {
+        Map<UUID, PlayerDataDB> all = new HashMap<>();
+        try (Connection conn = SQLiteConnection.getReader(this.plugin, file);
+             PreparedStatement select = conn.prepareStatement("SELECT " + COLUMNS + " FROM " +
+                     MySQLUtils.toSafeIdentifer(table));
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                all.put(UUID.fromString(rs.getString("uuid")), read(rs));
+            }
+        } catch (SQLException | IllegalStateException e) {
+            ConsoleUtils.severe(prefix(), "Failed to load all player data: " + e.getMessage());
+        }
+        return all;
+    }
+
+    @Override
+    public void save(Plugin plugin, String table, UUID uuid, PlayerDataDB data) {
+        saveAll(plugin, table, Map.of(uuid, data));
+    }
+
+    /**
+     * Queues the upserts on the file's writer and waits for their group commit.
+     *
+     * @throws IllegalStateException if the write or its commit failed
+     */
+    @Override
+    public void saveAll(Plugin plugin, String table, Map<UUID, PlayerDataDB> all) {
+        if (all.isEmpty()) return;
+
+        String sql = upsertQuery(MySQLUtils.toSafeIdentifer(table));
+        SQLiteWriter writer = SQLiteConnection.writer(this.plugin, file);
+        try {
+            writer.submit(conn -> {
+                PreparedStatement ps = writer.prepare(sql);
+                for (Map.Entry<UUID, PlayerDataDB> entry : all.entrySet()) {
+                    PlayerDataDB d = entry.getValue();
+                    ps.setString(1, entry.getKey().toString());
+                    ps.setString(2, d.name());
+                    ps.setDouble(3, d.exp());
+                    ps.setDouble(4, d.bxp());
+                    ps.setDouble(5, d.xpm());
+                    ps.setInt(6, d.level());
+                    ps.setInt(7, d.luck());
+                    ps.setInt(8, d.traitPoints());
+                    ps.setInt(9, d.talentPoints());
+                    ps.setInt(10, d.wisdomTrait());
+                    ps.setInt(11, d.charismaTrait());
+                    ps.setInt(12, d.karmaTrait());
+                    ps.setInt(13, d.dexterityTrait());
+                    ps.addBatch();
+                }
+                return ps.executeBatch();
+            }).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to save " + all.size() + " player(s) to " + table + ": " +
+                    cause(e).getMessage(), cause(e));
+        }
+    }
+
+    // ---------- Internals ----------
+
+    private static String upsertQuery(String table) {
+        return "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT(uuid) DO UPDATE SET " +
+                "playerName = excluded.playerName, playerEXP = excluded.playerEXP, " +
+                "playerBXP = excluded.playerBXP, playerXPM = excluded.playerXPM, " +
+                "playerLevel = excluded.playerLevel, playerLuck = excluded.playerLuck, " +
+                "traitPoints = excluded.traitPoints, talentPoints = excluded.talentPoints, " +
+                "wisdomTrait = excluded.wisdomTrait, charismaTrait = excluded.charismaTrait, " +
+                "karmaTrait = excluded.karmaTrait, dexterityTrait = excluded.dexterityTrait, " +
+                "lastUpdated = CURRENT_TIMESTAMP";
+    }
+
+    private static PlayerDataDB read(ResultSet rs) throws SQLException {
+        return new PlayerDataDB(
+                rs.getString("playerName"),
+                rs.getDouble("playerEXP"),
+                rs.getDouble("playerBXP"),
+                rs.getDouble("playerXPM"),
+                rs.getInt("playerLevel"),
+                rs.getInt("playerLuck"),
+                rs.getInt("traitPoints"),
+                rs.getInt("talentPoints"),
+                rs.getInt("wisdomTrait"),
+                rs.getInt("charismaTrait"),
+                rs.getInt("karmaTrait"),
+                rs.getInt("dexterityTrait")
+        );
+    }
+
+    private static Throwable cause(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+
+    private String prefix() {
+        return "[" + plugin.getName() + "]";
+    }
+}
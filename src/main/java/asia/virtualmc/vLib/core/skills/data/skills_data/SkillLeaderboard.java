@@ -0,0 +1,231 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-memory skill ranking ordered by level, then EXP (both descending).
+ * Backed by an order-statistic treap, so rank lookups, rank-to-player lookups and updates
+ * all run in O(log n) without touching the database.
+ */
+public final class SkillLeaderboard {
+
+    /**
+     * Immutable ranking entry.
+     */
+    public record Entry(UUID uuid, String name, int level, double exp) {}
+
+    private static final class Node {
+        final UUID uuid;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        String name;
+        int level;
+        double exp;
+        int size = 1;
+        Node left, right;
+
+        Node(UUID uuid, String name, int level, double exp) {
+            this.uuid = uuid;
+            this.name = name;
+            this.level = level;
+            this.exp = exp;
+        }
+    }
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    // Results of the last split; only touched while holding this monitor.
+    private Node splitLeft, splitRight;
+
+    /**
+     * Inserts the player or moves them to their new position.
+     *
+     * @param uuid  player UUID
+     * @param name  display name
+     * @param level current level
+     * @param exp   current EXP
+     */
+    public synchronized void update(@NotNull UUID uuid, String name, int level, double exp) {
+        Node node = nodes.get(uuid);
+        if (node == null) {
+            node = new Node(uuid, name, level, exp);
+            nodes.put(uuid, node);
+            root = insert(root, node);
+            return;
+        }
+
+        node.name = name;
+        if (node.level == level && node.exp == exp) return;
+        root = erase(root, node);
+        node.level = level;
+        node.exp = exp;
+        node.left = node.right = null;
+        node.size = 1;
+        root = insert(root, node);
+    }
+
+    public synchronized void remove(@NotNull UUID uuid) {
+        Node node = nodes.remove(uuid);
+        if (node != null) root = erase(root, node);
+    }
+
+    /**
+     * Returns the player's 1-based rank, or -1 if the player is not ranked.
+     */
+    public synchronized int getRank(@NotNull UUID uuid) {
+        Node node = nodes.get(uuid);
+        if (node == null) return -1;
+
+        int rank = 1;
+        Node t = root;
+        while (t != null) {
+            int c = compare(node, t);
+            if (c == 0) return rank + size(t.left);
+            if (c < 0) {
+                t = t.left;
+            } else {
+                rank += size(t.left) + 1;
+                t = t.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the entry at the given 1-based rank, or null if out of range.
+     */
+    @Nullable
+    public synchronized Entry getEntry(int rank) {
+        if (rank < 1 || rank > size(root)) return null;
+
+        int k = rank - 1;
+        Node t = root;
+        while (t != null) {
+            int left = size(t.left);
+            if (k == left) return entry(t);
+            if (k < left) {
+                t = t.left;
+            } else {
+                k -= left + 1;
+                t = t.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first {@code limit} entries, best first.
+     */
+    @NotNull
+    public synchronized List<Entry> getTop(int limit) {
+        List<Entry> top = new ArrayList<>(Math.max(0, Math.min(limit, nodes.size())));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node t = root;
+        while ((t != null || !stack.isEmpty()) && top.size() < limit) {
+            while (t != null) {
+                stack.push(t);
+                t = t.left;
+            }
+            t = stack.pop();
+            top.add(entry(t));
+            t = t.right;
+        }
+        return top;
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    // ---------- Treap ----------
+
+    private static Entry entry(Node n) {
+        return new Entry(n.uuid, n.name, n.level, n.exp);
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void resize(Node n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    // Higher level, then higher EXP ranks first; UUID keeps the order total.
+    private static int compare(Node a, Node b) {
+        if (a.level != b.level) return Integer.compare(b.level, a.level);
+        if (a.exp != b.exp) return Double.compare(b.exp, a.exp);
+        return a.uuid.compareTo(b.uuid);
+    }
+
+    private Node insert(Node t, Node n) {
+        if (t == null) return n;
+        if (n.priority > t.priority) {
+            split(t, n);
+            n.left = splitLeft;
+            n.right = splitRight;
+            resize(n);
+            return n;
+        }
+        if (compare(n, t) < 0) {
+            t.left = insert(t.left, n);
+        } else {
+            t.right = insert(t.right, n);
+        }
+        resize(t);
+        return t;
+    }
+
+    private static Node erase(Node t, Node n) {
+        if (t == null) return null;
+        int c = compare(n, t);
+        if (c == 0) return merge(t.left, t.right);
+        if (c < 0) {
+            t.left = erase(t.left, n);
+        } else {
+            t.right = erase(t.right, n);
+        }
+        resize(t);
+        return t;
+    }
+
+    private void split(Node t, Node key) {
+        if (t == null) {
+            splitLeft = splitRight = null;
+            return;
+        }
+        if (compare(t, key) < 0) {
+            split(t.right, key);
+            t.right = splitLeft;
+            resize(t);
+            splitLeft = t;
+        } else {
+            split(t.left, key);
+            t.left = splitRight;
+            resize(t);
+            splitRight = t;
+        }
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            resize(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        resize(b);
+        return b;
+    }
+}
@@ -1,57 +1,67 @@
 package asia.virtualmc.vLib.core.skills.data.skills_data;
 
 import asia.virtualmc.vLib.core.configs.InnateTraitConfig;
+import asia.virtualmc.vLib.core.skills.data.OfflineCache;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataLoader;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataPipeline;
+import asia.virtualmc.vLib.core.skills.data.WriteBehindQueue;
 import asia.virtualmc.vLib.core.skills.utilities.SkillsDataUtils;
-import asia.virtualmc.vLib.events.skills.SkillLevelUpEvent;
+import asia.virtualmc.vLib.storage.DatabaseExecutor;
+import asia.virtualmc.vLib.storage.redis.PlayerHandoff;
+import asia.virtualmc.vLib.core.skills.utilities.level_up.SkillLevelUpDispatcher;
 import asia.virtualmc.vLib.utilities.enums.EnumsLib;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import asia.virtualmc.vLib.utilities.paper.TaskUtils;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+
+public final class SkillsData implements SkillsWriter, SkillsReader, PlayerDataLoader {
+    // Guarded by its own monitor
+    private static final class Deferred {
+        final ArrayDeque<Runnable> updates = new ArrayDeque<>();
+        Thread drainer;
+        boolean closed;
+    }
 
-public final class SkillsData implements SkillsWriter, SkillsReader {
     private final Plugin plugin;
     private final SkillsDatabase database;
     private final EnumsLib.Skills skill;
+    // MySQL skills load and flush through MultiSkillLoader
+    private final boolean shared;
     private final int MAX_LEVEL;
 
-    private final Map<Integer, Double> expTable;
+    private final EXPCurve curve;
     private final Map<String, InnateTraitConfig.InnateTrait> traits;
-    private final Map<Integer, Integer> traitPoints;
 
     // Runtime cache
-    private final ConcurrentHashMap<UUID, PlayerData> cache = new ConcurrentHashMap<>();
-    private record PlayerData(
-            String name,
-            double exp,
-            double bxp,
-            double xpm,
-            int level,
-            int luck,
-            int traitPoints,
-            int talentPoints,
-            int wisdomTrait,
-            int charismaTrait,
-            int karmaTrait,
-            int dexterityTrait
-    ) {
-        PlayerData withExp(double v) { return new PlayerData(name, v, bxp, xpm, level, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withBxp(double v) { return new PlayerData(name, exp, v, xpm, level, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withXpm(double v) { return new PlayerData(name, exp, bxp, v, level, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withLevel(int v) { return new PlayerData(name, exp, bxp, xpm, v, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withLuck(int v) { return new PlayerData(name, exp, bxp, xpm, level, v, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withTraitPoints(int v) { return new PlayerData(name, exp, bxp, xpm, level, luck, v, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withTalentPoints(int v) { return new PlayerData(name, exp, bxp, xpm, level, luck, traitPoints, v, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withWisdom(int v) { return new PlayerData(name, exp, bxp, xpm, level, luck, traitPoints, talentPoints, v, charismaTrait, karmaTrait, dexterityTrait); }
-        PlayerData withCharisma(int v) { return new PlayerData(name, exp, bxp, xpm, level, luck, traitPoints, talentPoints, wisdomTrait, v, karmaTrait, dexterityTrait); }
-        PlayerData withKarma(int v) { return new PlayerData(name, exp, bxp, xpm, level, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, v, dexterityTrait); }
-        PlayerData withDexterity(int v) { return new PlayerData(name, exp, bxp, xpm, level, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, v); }
-        PlayerData withName(String v) { return new PlayerData(v, exp, bxp, xpm, level, luck, traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait); }
-    }
+    private final SkillsStore store = new SkillsStore();
+    private final WriteBehindQueue<UUID> writeQueue = new WriteBehindQueue<>(this::write);
+    private final OfflineCache<Optional<SkillsDatabase.PlayerDataDB>> offline;
+    // Updates that arrived before the player's load finished, in arrival order
+    private final Map<UUID, Deferred> deferred = new ConcurrentHashMap<>();
+    // Players whose unload save failed; kept cached until a flush writes them
+    private final Set<UUID> unloading = ConcurrentHashMap.newKeySet();
+    // Redis handoff key of this skill; see PlayerHandoff
+    private final String namespace;
+    private volatile SkillsJournal journal;
+    private volatile SkillLeaderboard leaderboard;
+    private ScheduledTask flusher;
 
     /**
      * Construct a reusable PlayerData dataervice for one "skill".
@@ -69,76 +79,204 @@ public final class SkillsData implements SkillsWriter, SkillsReader {
             @NotNull Map<Integer, Integer> traitPoints,
             @NotNull EnumsLib.Skills skill,
             int maxLevel
+    ) {
+        this(plugin, database, EXPCurve.compile(expTable, traitPoints, maxLevel), traits, skill, maxLevel);
+    }
+
+    /**
+     * Construct a reusable PlayerData dataervice for one "skill" from a precompiled curve.
+     *
+     * @param plugin          owning plugin
+     * @param database      persistence adapter
+     * @param curve           compiled exp table and trait point gains
+     * @param traits       traitName -> trait definition map
+     */
+    public SkillsData(
+            @NotNull Plugin plugin,
+            @NotNull SkillsDatabase database,
+            @NotNull EXPCurve curve,
+            @NotNull Map<String, InnateTraitConfig.InnateTrait> traits,
+            @NotNull EnumsLib.Skills skill,
+            int maxLevel
     ) {
         this.plugin = plugin;
         this.database = database;
-        this.expTable = expTable;
+        this.curve = curve;
         this.traits = traits;
-        this.traitPoints = traitPoints;
         this.database.createTable(plugin, plugin.getName().toLowerCase() + "_playerData");
         this.skill = skill;
         this.MAX_LEVEL = maxLevel;
+        this.offline = new OfflineCache<>(
+                uuid -> Optional.ofNullable(database.find(plugin, plugin.getName().toLowerCase() + "_playerData", uuid)));
+        this.namespace = "skills:" + plugin.getName();
+        PlayerHandoff.onInvalidate(namespace, offline::invalidate);
+        this.shared = database instanceof SkillsDatabaseAdapter;
+        if (shared) {
+            MultiSkillLoader.register(this);
+        } else {
+            PlayerDataPipeline.register(this);
+        }
     }
 
     // ---------- Lifecycle ----------
 
     /**
-     * Loads a player's data from storage into memory cache.
+     * Loads a player's data from storage into memory cache, preferring the snapshot handed off
+     * by the server the player came from.
+     * Blocking; normally invoked off-thread by {@link PlayerDataPipeline} during pre-login.
      *
      * @param uuid player UUID
      */
     public void load(@NotNull UUID uuid) {
         try {
+            if (receiveHandoff(uuid, PlayerHandoff.deadline())) return;
             SkillsDatabase.PlayerDataDB data = database.load(plugin, plugin.getName().toLowerCase() + "_playerData", uuid);
-            cache.put(uuid, toMemoryData(data));
+            fill(uuid, data);
         } catch (Exception e) {
             ConsoleUtils.severe(prefix(), "Failed to load player data for " + uuid + " : " + e.getMessage());
+            releaseHandoff(uuid);
         }
     }
 
     /**
-     * Saves a single player's cached data to storage.
+     * Saves a single player's cached data to storage. Runs after any flush in progress,
+     * so that flush can not overwrite it with older values.
      *
      * @param uuid player UUID
      */
     public void save(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        if (data == null) return;
-        try {
-            database.save(plugin, plugin.getName().toLowerCase() + "_playerData", uuid, toRepo(data));
-        } catch (Exception e) {
-            ConsoleUtils.severe(prefix(), "Failed to store player data for " + data.name + ": " + e.getMessage());
-        }
+        if (store.slot(uuid) < 0) return;
+        persist(uuid);
     }
 
     /**
-     * Saves all cached players to storage (best-effort).
+     * Saves every cached player that changed since the last flush (best-effort).
+     * Waits for a flush already in progress, so nothing is still in flight when this returns.
+     * Players without pending changes are skipped. Once the write commits, or if nothing was pending,
+     * the journal is compacted.
+     * <p>
+     * MySQL skills are saved together with every other MySQL skill through {@link MultiSkillLoader#saveAll()}.
      */
     public void saveAll() {
+        if (shared) {
+            MultiSkillLoader.saveAll();
+            return;
+        }
         try {
-            Map<UUID, SkillsDatabase.PlayerDataDB> out = new java.util.HashMap<>();
-            for (Map.Entry<UUID, PlayerData> e : cache.entrySet()) {
-                out.put(e.getKey(), toRepo(e.getValue()));
+            forceJournal();
+            long journalPosition = getJournalPosition();
+
+            Set<UUID> batch = writeQueue.drain(true);
+            if (!batch.isEmpty()) {
+                boolean written = false;
+                try {
+                    write(batch);
+                    written = true;
+                } finally {
+                    writeQueue.complete(batch, written);
+                }
             }
-            database.saveAll(plugin, plugin.getName().toLowerCase() + "_playerData", out);
+            // Also with nothing drained: every journaled change before the position is stored
+            compactJournal(journalPosition);
         } catch (Exception e) {
             ConsoleUtils.severe(prefix(), "Failed to store all player data: " + e.getMessage());
         }
     }
 
     /**
-     * Flushes and removes a player's data from cache.
+     * Starts a write-behind task that periodically persists changed players.
+     * MySQL skills share one task that writes every skill in one transaction; it runs at the
+     * shortest interval requested by any of them.
+     *
+     * @param interval interval between flushes in seconds
+     */
+    public synchronized void startFlusher(double interval) {
+        if (shared) {
+            MultiSkillLoader.startFlusher(interval);
+            return;
+        }
+        stopFlusher();
+        flusher = TaskUtils.repeatingAsync(plugin,
+                () -> DatabaseExecutor.run(DatabaseExecutor.Priority.SAVE, this::saveAll), interval);
+    }
+
+    /**
+     * Stops the write-behind task. Pending changes are kept until the next {@link #saveAll()}.
+     * Does not stop the shared task of MySQL skills, which other skills still use.
+     */
+    public synchronized void stopFlusher() {
+        if (flusher != null) {
+            flusher.cancel();
+            flusher = null;
+        }
+    }
+
+    /**
+     * Enables the crash journal at {@code <dataFolder>/skills.journal}. Every stat change is appended
+     * to a memory-mapped file, so progress since the last save survives a server crash.
+     * <p>
+     * Records left by a previous run are replayed on top of the stored data and saved before
+     * returning. Blocking; call once from {@code onEnable}, before players can join.
+     */
+    public void enableJournal() {
+        if (journal != null) return;
+        try {
+            SkillsJournal j = SkillsJournal.open(new File(plugin.getDataFolder(), "skills.journal").toPath());
+            replay(j);
+            journal = j;
+        } catch (Exception e) {
+            ConsoleUtils.severe(prefix(), "Failed to open skills journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the crash journal. Call after the final {@link #saveAll()} in {@code onDisable}.
+     */
+    public void closeJournal() {
+        SkillsJournal j = journal;
+        if (j == null) return;
+        journal = null;
+        try {
+            j.close();
+        } catch (IOException e) {
+            ConsoleUtils.severe(prefix(), "Failed to close skills journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flushes and removes a player's data from cache. With Redis enabled, the cached stats are
+     * handed off to the next server before the final save.
+     * <p>
+     * If the save fails, the player stays cached and queued, and is removed once a later flush
+     * writes them.
      *
      * @param uuid player UUID
      */
     public void unload(@NotNull UUID uuid) {
         String name = getPlayerName(uuid);
+        boolean[] saved = {true};
+        Runnable save = () -> {
+            if (writeQueue.isDirty(uuid)) saved[0] = persist(uuid);
+        };
         try {
-            save(uuid);
-        } catch (Exception ignored) {
-        } finally {
-            cache.remove(uuid);
+            int slot = store.slot(uuid);
+            SkillsDatabase.PlayerDataDB data = (slot >= 0 && PlayerHandoff.isEnabled()) ? store.read(slot, uuid) : null;
+            if (data != null) {
+                PlayerHandoff.handOff(namespace, uuid, encode(data), save);
+            } else {
+                save.run();
+            }
+        } catch (Exception e) {
+            saved[0] = false;
         }
+
+        if (!saved[0]) {
+            unloading.add(uuid);
+            writeQueue.mark(uuid);
+            ConsoleUtils.warning(prefix(), "Keeping data of " + uuid + " cached until the next flush saves it.");
+            return;
+        }
+        release(uuid);
         if (name == null) {
             ConsoleUtils.info(prefix(), "Unloaded player data for " + uuid);
         }
@@ -147,160 +285,286 @@ public final class SkillsData implements SkillsWriter, SkillsReader {
     // ---------- Update methods ----------
 
     public void updateEXP(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, double value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateEXP(uuid, type, value));
+            return;
+        }
 
-        cache.put(uuid, data.withExp(SkillsDataUtils.getEXP(type, data.exp, value)));
-        if (type == EnumsLib.UpdateType.ADD) checkLevelUp(uuid);
-//        if (type == EnumsLib.UpdateType.ADD) {
-//            //double bonus = consumeBonusXp(uuid, value);
-//            double newExp = SkillsDataUtils.getEXP(type, data.exp, value + bonus);
-//            cache.put(uuid, data.withExp(newExp));
-//
-//        } else {
-//
-//        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.exp(slot, SkillsDataUtils.getEXP(type, store.exp(slot), value));
+            changed(uuid, SkillsJournal.EXP, store.exp(slot));
+            if (type == EnumsLib.UpdateType.ADD) checkLevelUp(uuid, slot);
+            ranked(uuid, slot);
+        }
     }
 
     public void updateLevel(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withLevel(SkillsDataUtils.getLevel(type, data.level, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateLevel(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.level(slot, SkillsDataUtils.getLevel(type, store.level(slot), value));
+            changed(uuid, SkillsJournal.LEVEL, store.level(slot));
+            ranked(uuid, slot);
+        }
     }
 
     public void updateName(@NotNull UUID uuid, String name) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withName(name));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateName(uuid, name));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.name(slot, name);
+            ranked(uuid, slot);
+        }
+        writeQueue.mark(uuid);
     }
 
     public void updateXPM(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, double value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withXpm(SkillsDataUtils.getXPM(type, data.xpm, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateXPM(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.xpm(slot, SkillsDataUtils.getXPM(type, store.xpm(slot), value));
+            changed(uuid, SkillsJournal.XPM, store.xpm(slot));
+        }
     }
 
     public void updateBXP(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, double value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withBxp(SkillsDataUtils.getBXP(type, data.bxp, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateBXP(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.bxp(slot, SkillsDataUtils.getBXP(type, store.bxp(slot), value));
+            changed(uuid, SkillsJournal.BXP, store.bxp(slot));
+        }
     }
 
     public void updateTraitPoints(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withTraitPoints(SkillsDataUtils.getTraitPoints(type, data.traitPoints, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateTraitPoints(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.traitPoints(slot, SkillsDataUtils.getTraitPoints(type, store.traitPoints(slot), value));
+            changed(uuid, SkillsJournal.TRAIT_POINTS, store.traitPoints(slot));
+        }
     }
 
     public void updateTalentPoints(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withTalentPoints(SkillsDataUtils.getTalentPoints(type, data.talentPoints, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateTalentPoints(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.talentPoints(slot, SkillsDataUtils.getTalentPoints(type, store.talentPoints(slot), value));
+            changed(uuid, SkillsJournal.TALENT_POINTS, store.talentPoints(slot));
+        }
     }
 
     public void updateLuck(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withLuck(SkillsDataUtils.getLuck(type, data.luck, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateLuck(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.luck(slot, SkillsDataUtils.getLuck(type, store.luck(slot), value));
+            changed(uuid, SkillsJournal.LUCK, store.luck(slot));
+        }
     }
 
     public void updateWisdom(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withWisdom(SkillsDataUtils.getTraitLevel(type, data.wisdomTrait, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateWisdom(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.wisdom(slot, SkillsDataUtils.getTraitLevel(type, store.wisdom(slot), value));
+            changed(uuid, SkillsJournal.WISDOM, store.wisdom(slot));
+        }
     }
 
     public void updateKarma(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withKarma(SkillsDataUtils.getTraitLevel(type, data.karmaTrait, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateKarma(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.karma(slot, SkillsDataUtils.getTraitLevel(type, store.karma(slot), value));
+            changed(uuid, SkillsJournal.KARMA, store.karma(slot));
+        }
     }
 
     public void updateDexterity(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withDexterity(SkillsDataUtils.getTraitLevel(type, data.dexterityTrait, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateDexterity(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.dexterity(slot, SkillsDataUtils.getTraitLevel(type, store.dexterity(slot), value));
+            changed(uuid, SkillsJournal.DEXTERITY, store.dexterity(slot));
+        }
     }
 
     public void updateCharisma(@NotNull UUID uuid, @NotNull EnumsLib.UpdateType type, int value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null) return;
-        cache.put(uuid, data.withCharisma(SkillsDataUtils.getTraitLevel(type, data.charismaTrait, value)));
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> updateCharisma(uuid, type, value));
+            return;
+        }
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.charisma(slot, SkillsDataUtils.getTraitLevel(type, store.charisma(slot), value));
+            changed(uuid, SkillsJournal.CHARISMA, store.charisma(slot));
+        }
     }
 
     public void addAllTraits(@NotNull UUID uuid, int[] value) {
-        PlayerData data = ensureLoaded(uuid);
-        if (data == null || value.length < 4) return;
-
-        int w = Math.min(data.wisdomTrait + value[0], traits.get("wisdom_trait").maxLevel());
-        int c = Math.min(data.charismaTrait + value[1], traits.get("charisma_trait").maxLevel());
-        int k = Math.min(data.karmaTrait + value[2], traits.get("karma_trait").maxLevel());
-        int d = Math.min(data.dexterityTrait + value[3], traits.get("dexterity_trait").maxLevel());
+        if (value.length < 4) return;
+        int slot = store.slot(uuid);
+        if (slot < 0 || queued(uuid)) {
+            defer(uuid, () -> addAllTraits(uuid, value));
+            return;
+        }
 
-        cache.put(uuid, new PlayerData(data.name, data.exp, data.bxp, data.xpm, data.level, data.luck, data.traitPoints, data.talentPoints, w, c, k, d));
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return;
+            store.wisdom(slot, Math.min(store.wisdom(slot) + value[0], traits.get("wisdom_trait").maxLevel()));
+            store.charisma(slot, Math.min(store.charisma(slot) + value[1], traits.get("charisma_trait").maxLevel()));
+            store.karma(slot, Math.min(store.karma(slot) + value[2], traits.get("karma_trait").maxLevel()));
+            store.dexterity(slot, Math.min(store.dexterity(slot) + value[3], traits.get("dexterity_trait").maxLevel()));
+            changed(uuid, SkillsJournal.WISDOM, store.wisdom(slot));
+            changed(uuid, SkillsJournal.CHARISMA, store.charisma(slot));
+            changed(uuid, SkillsJournal.KARMA, store.karma(slot));
+            changed(uuid, SkillsJournal.DEXTERITY, store.dexterity(slot));
+        }
     }
 
     // ---------- Getters ----------
 
     /**
-     * Returns a live snapshot from cache; auto-loads on first access.
+     * Returns a live snapshot from cache, or null if the player is not loaded yet.
+     * A missing online player is prefetched asynchronously; this never blocks on the database.
      */
     public SkillsDatabase.PlayerDataDB getPlayerData(@NotNull UUID uuid) {
-        PlayerData data = ensureLoaded(uuid);
-        return data == null ? null : toRepo(data);
+        int slot = store.slot(uuid);
+        if (slot < 0) {
+            if (Bukkit.getPlayer(uuid) != null) loadAsync(uuid);
+            return null;
+        }
+        return store.read(slot, uuid);
     }
 
     public String getPlayerName(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.name : null;
+        int slot = store.slot(uuid);
+        if (slot < 0) return null;
+        synchronized (store.lock(slot)) {
+            return store.owns(slot, uuid) ? store.name(slot) : null;
+        }
     }
 
-    public double getEXP(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.exp : 0.0;
-    }
+    public double getEXP(@NotNull UUID uuid)      { return readDouble(uuid, store::exp, 0.0); }
+    public int getLevel(@NotNull UUID uuid)       { return readInt(uuid, store::level, 1); }
+    public double getBXP(@NotNull UUID uuid)      { return readDouble(uuid, store::bxp, 0.0); }
+    public int getLuck(@NotNull UUID uuid)        { return readInt(uuid, store::luck, 0); }
+    public double getXPM(@NotNull UUID uuid)      { return readDouble(uuid, store::xpm, 1.0); }
+    public int getTraitPoints(@NotNull UUID uuid) { return readInt(uuid, store::traitPoints, 1); }
+    public int getTalentPoints(@NotNull UUID uuid){ return readInt(uuid, store::talentPoints, 0); }
 
-    public int getLevel(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.level : 1;
+    public int[] getAllTraits(@NotNull UUID uuid) {
+        int[] traits = new int[4];
+        getAllTraits(uuid, traits);
+        return traits;
     }
 
-    public double getBXP(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.bxp : 0.0;
+    /**
+     * Copies the four trait levels (wisdom, charisma, karma, dexterity) into {@code out} without allocating.
+     *
+     * @param out destination of length 4 or more
+     * @return false if the player is not loaded ({@code out} is left untouched)
+     */
+    public boolean getAllTraits(@NotNull UUID uuid, int[] out) {
+        int slot = store.slot(uuid);
+        if (slot < 0) return false;
+        synchronized (store.lock(slot)) {
+            if (!store.owns(slot, uuid)) return false;
+            out[0] = store.wisdom(slot);
+            out[1] = store.charisma(slot);
+            out[2] = store.karma(slot);
+            out[3] = store.dexterity(slot);
+        }
+        return true;
     }
 
-    public int getLuck(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.luck : 0;
+    /**
+     * Fills a reusable view with a consistent copy of the player's stats without allocating.
+     * Prefer this over {@link #getPlayerData(UUID)} for readers that run every tick or per GUI refresh.
+     *
+     * @param view destination, reused across calls
+     * @return false if the player is not loaded ({@code view} is left untouched)
+     */
+    public boolean readInto(@NotNull UUID uuid, @NotNull SkillsView view) {
+        int slot = store.slot(uuid);
+        return slot >= 0 && store.readInto(slot, uuid, view);
     }
 
-    public double getXPM(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.xpm : 1.0;
+    /**
+     * Returns a player's stats whether or not they are online. Online players are answered from memory;
+     * others are read off-thread through a bounded, expiring cache kept apart from the online cache,
+     * so admin commands and profile GUIs do not have to query the database themselves.
+     * The read has no side effects: unknown UUIDs complete with an empty Optional and nothing is created.
+     *
+     * @return a future completing with the stats, or exceptionally if the database read fails
+     */
+    @NotNull
+    public CompletableFuture<Optional<SkillsDatabase.PlayerDataDB>> getOffline(@NotNull UUID uuid) {
+        int slot = store.slot(uuid);
+        if (slot >= 0) {
+            SkillsDatabase.PlayerDataDB data = store.read(slot, uuid);
+            if (data != null) return CompletableFuture.completedFuture(Optional.of(data));
+        }
+        return offline.get(uuid);
     }
 
-    public int getTraitPoints(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.traitPoints : 1;
+    public OfflineCache<Optional<SkillsDatabase.PlayerDataDB>> getOfflineCache() {
+        return offline;
     }
 
-    public int getTalentPoints(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        return data != null ? data.talentPoints : 0;
-    }
+    public int getWisdom(@NotNull UUID uuid)     { return readInt(uuid, store::wisdom, 0); }
+    public int getKarma(@NotNull UUID uuid)      { return readInt(uuid, store::karma, 0); }
+    public int getCharisma(@NotNull UUID uuid)   { return readInt(uuid, store::charisma, 0); }
+    public int getDexterity(@NotNull UUID uuid)  { return readInt(uuid, store::dexterity, 0); }
 
-    public int[] getAllTraits(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        if (data == null) return new int[] {0,0,0,0};
-        return new int[] { data.wisdomTrait, data.charismaTrait, data.karmaTrait, data.dexterityTrait };
+    public boolean isLoaded(@NotNull UUID uuid) {
+        return store.slot(uuid) >= 0;
     }
 
-    public int getWisdom(@NotNull UUID uuid)     { PlayerData data = cache.get(uuid); return data != null ? data.wisdomTrait : 0; }
-    public int getKarma(@NotNull UUID uuid)      { PlayerData data = cache.get(uuid); return data != null ? data.karmaTrait : 0; }
-    public int getCharisma(@NotNull UUID uuid)   { PlayerData data = cache.get(uuid); return data != null ? data.charismaTrait : 0; }
-    public int getDexterity(@NotNull UUID uuid)  { PlayerData data = cache.get(uuid); return data != null ? data.dexterityTrait : 0; }
-
     // ---------- Misc (EXP & Traits) ----------
 
     /**
@@ -310,12 +574,52 @@ public final class SkillsData implements SkillsWriter, SkillsReader {
      * @return exp required to reach next level
      */
     public double getNextEXP(int level) {
-        double exp = expTable.getOrDefault(level + 1, 0.0);
-        if (exp > 0) {
-            return exp;
+        return curve.getNextEXP(level);
+    }
+
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    public EnumsLib.Skills getSkill() {
+        return skill;
+    }
+
+    /**
+     * Builds the skill leaderboard from every stored player and keeps it updated from then on.
+     * Blocking; call once off the main thread (or in {@code onEnable}).
+     */
+    public void loadLeaderboard() {
+        SkillLeaderboard board = new SkillLeaderboard();
+        for (Map.Entry<UUID, SkillsDatabase.PlayerDataDB> e :
+                database.loadAll(plugin, plugin.getName().toLowerCase() + "_playerData").entrySet()) {
+            SkillsDatabase.PlayerDataDB d = e.getValue();
+            board.update(e.getKey(), d.name(), d.level(), d.exp());
         }
+        leaderboard = board;
+
+        // Cached players may be ahead of the database.
+        for (UUID uuid : store.players()) {
+            int slot = store.slot(uuid);
+            if (slot < 0) continue;
+            synchronized (store.lock(slot)) {
+                if (store.owns(slot, uuid)) ranked(uuid, slot);
+            }
+        }
+    }
+
+    /**
+     * Returns the leaderboard, or null if {@link #loadLeaderboard()} was not called.
+     */
+    public SkillLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
 
-        return 9999999999.00;
+    /**
+     * Returns the write-behind queue for this skill, exposing queue depth and flush latency.
+     */
+    public WriteBehindQueue<UUID> getWriteQueue() {
+        return writeQueue;
     }
 
     public Map<String, InnateTraitConfig.InnateTrait> getTraits() {
@@ -329,75 +633,380 @@ public final class SkillsData implements SkillsWriter, SkillsReader {
 
     // ---------- Internals ----------
 
-    private PlayerData ensureLoaded(UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        if (data != null) return data;
-        load(uuid);
-        return cache.get(uuid);
+    /**
+     * Reads one column under the slot's lock, or returns {@code absent} if the player is not loaded
+     * (including when the slot was released and handed to another player after the lookup).
+     */
+    private int readInt(UUID uuid, IntUnaryOperator column, int absent) {
+        int slot = store.slot(uuid);
+        if (slot < 0) return absent;
+        synchronized (store.lock(slot)) {
+            return store.owns(slot, uuid) ? column.applyAsInt(slot) : absent;
+        }
     }
 
-    private double consumeBonusXp(UUID uuid, double value) {
-        PlayerData data = cache.get(uuid);
-        if (data == null || data.bxp <= 0.0) return 0.0;
+    private double readDouble(UUID uuid, IntToDoubleFunction column, double absent) {
+        int slot = store.slot(uuid);
+        if (slot < 0) return absent;
+        synchronized (store.lock(slot)) {
+            return store.owns(slot, uuid) ? column.applyAsDouble(slot) : absent;
+        }
+    }
 
-        double bonus = Math.min(data.bxp, value);
-        double newBxp = (bonus >= value) ? (data.bxp - value) : 0.0;
-        cache.put(uuid, data.withBxp(newBxp));
-        return bonus;
+    private void write(Set<UUID> uuids) {
+        Map<UUID, SkillsDatabase.PlayerDataDB> out = snapshot(uuids);
+        if (out.isEmpty()) return;
+        database.saveAll(plugin, plugin.getName().toLowerCase() + "_playerData", out);
+        writeQueue.addRows(out.size());
+        written(uuids);
     }
 
-    private void checkLevelUp(@NotNull UUID uuid) {
-        PlayerData data = cache.get(uuid);
-        if (data == null) return;
+    /**
+     * Writes one player through the write-behind queue. The journal is compacted afterwards
+     * if no other player was left pending, since every earlier change is then stored.
+     *
+     * @return false if the save failed; the player is queued again
+     */
+    private boolean persist(UUID uuid) {
+        try {
+            long journalPosition = getJournalPosition();
+            if (writeQueue.write(uuid)) compactJournal(journalPosition);
+            return true;
+        } catch (Exception e) {
+            ConsoleUtils.severe(prefix(), "Failed to store player data for " + uuid + ": " + e.getMessage());
+            return false;
+        }
+    }
 
-        boolean levelUp = false;
-        int prev = data.level;
+    /**
+     * Called after the given players were persisted. Releases those whose unload save had failed,
+     * unless they came back online in the meantime.
+     */
+    void written(Set<UUID> uuids) {
+        if (unloading.isEmpty()) return;
+        for (UUID uuid : uuids) {
+            if (unloading.remove(uuid) && Bukkit.getPlayer(uuid) == null) release(uuid);
+        }
+    }
 
-        int finalLevel = data.level;
-        int finalTraitPoints = data.traitPoints;
+    private void release(UUID uuid) {
+        store.remove(uuid);
+        offline.invalidate(uuid);
+        PlayerHandoff.release(namespace, uuid);
+    }
 
-        while (data.exp >= getNextEXP(data.level)) {
-            int nextLevel = data.level + 1;
+    /**
+     * Returns consistent copies of the given players that are still cached.
+     */
+    Map<UUID, SkillsDatabase.PlayerDataDB> snapshot(Set<UUID> uuids) {
+        Map<UUID, SkillsDatabase.PlayerDataDB> out = new HashMap<>();
+        for (UUID uuid : uuids) {
+            int slot = store.slot(uuid);
+            SkillsDatabase.PlayerDataDB data = slot >= 0 ? store.read(slot, uuid) : null;
+            if (data != null) out.put(uuid, data);
+        }
+        return out;
+    }
 
-            // only give trait points if below 120
-            int nextTrait = data.traitPoints;
-            if (nextLevel <= MAX_LEVEL) {
-                nextTrait += traitPoints.getOrDefault(nextLevel, 0);
-            }
+    /**
+     * Writes the journal through to the disk, so records since the last flush survive an OS crash.
+     */
+    void forceJournal() {
+        SkillsJournal j = journal;
+        if (j != null) j.force();
+    }
+
+    /**
+     * Returns the journal position to pass to {@link #compactJournal(long)} once the players drained
+     * after this call are persisted, or -1 if the journal is disabled. Seals the journal's active segment.
+     */
+    long getJournalPosition() {
+        SkillsJournal j = journal;
+        return j != null ? j.position() : -1;
+    }
+
+    void compactJournal(long position) {
+        SkillsJournal j = journal;
+        if (j != null && position >= 0) j.compact(position);
+    }
 
-            data = data.withLevel(nextLevel).withTraitPoints(nextTrait);
+    /**
+     * Marks the player for the next flush and journals the field's new value.
+     * Must be called while holding the slot's lock, so journal order matches update order.
+     */
+    private void changed(UUID uuid, byte field, double value) {
+        writeQueue.mark(uuid);
+        SkillsJournal j = journal;
+        if (j == null) return;
+        try {
+            j.append(uuid, field, value);
+        } catch (RuntimeException e) {
+            ConsoleUtils.severe(prefix(), "Failed to journal update for " + uuid + ": " + e.getMessage());
+        }
+    }
 
-            finalLevel = nextLevel;
-            finalTraitPoints = nextTrait;
-            levelUp = true;
+    /**
+     * Applies journaled values from a previous run and persists them. The journal is only cleared
+     * once every affected player was loaded and saved; otherwise the replayed players stay cached
+     * and dirty, and the journal is kept for the next flush.
+     */
+    private void replay(SkillsJournal j) {
+        Set<UUID> touched = new HashSet<>();
+        boolean[] complete = {true};
+        j.replay((uuid, field, value) -> {
+            if (!isLoaded(uuid)) load(uuid);
+            int slot = store.slot(uuid);
+            if (slot < 0) {
+                complete[0] = false;
+                return;
+            }
+            synchronized (store.lock(slot)) {
+                apply(slot, field, value);
+            }
+            touched.add(uuid);
+        });
+        if (touched.isEmpty()) {
+            if (complete[0]) j.clear();
+            return;
+        }
+
+        try {
+            write(touched);
+        } catch (Exception e) {
+            touched.forEach(writeQueue::mark);
+            ConsoleUtils.severe(prefix(), "Failed to save replayed journal: " + e.getMessage());
+            return;
+        }
+        if (complete[0]) j.clear();
+        for (UUID uuid : touched) {
+            if (Bukkit.getPlayer(uuid) == null) store.remove(uuid);
         }
+        ConsoleUtils.info(prefix(), "Recovered journaled data for " + touched.size() + " player(s).");
+    }
+
+    // Caller must hold the slot's lock.
+    private void apply(int slot, byte field, double value) {
+        switch (field) {
+            case SkillsJournal.EXP -> store.exp(slot, value);
+            case SkillsJournal.BXP -> store.bxp(slot, value);
+            case SkillsJournal.XPM -> store.xpm(slot, value);
+            case SkillsJournal.LEVEL -> store.level(slot, (int) value);
+            case SkillsJournal.LUCK -> store.luck(slot, (int) value);
+            case SkillsJournal.TRAIT_POINTS -> store.traitPoints(slot, (int) value);
+            case SkillsJournal.TALENT_POINTS -> store.talentPoints(slot, (int) value);
+            case SkillsJournal.WISDOM -> store.wisdom(slot, (int) value);
+            case SkillsJournal.CHARISMA -> store.charisma(slot, (int) value);
+            case SkillsJournal.KARMA -> store.karma(slot, (int) value);
+            case SkillsJournal.DEXTERITY -> store.dexterity(slot, (int) value);
+            default -> { }
+        }
+    }
 
-        cache.put(uuid, data);
-        if (levelUp) {
-            int newLevel = finalLevel;
-            int newTraitPoints = finalTraitPoints;
+    /**
+     * Caches data loaded elsewhere, e.g. by {@link MultiSkillLoader}. A player that is already
+     * loaded is left untouched, since the cached copy may hold updates the loaded data lacks.
+     */
+    void fill(@NotNull UUID uuid, @NotNull SkillsDatabase.PlayerDataDB data) {
+        int slot = store.insert(uuid, data);
+        if (slot < 0) return;
+        offline.invalidate(uuid);
+        synchronized (store.lock(slot)) {
+            if (store.owns(slot, uuid)) ranked(uuid, slot);
+        }
+    }
 
-            plugin.getServer().getGlobalRegionScheduler().run(plugin, task -> {
-                Bukkit.getPluginManager().callEvent(
-                        new SkillLevelUpEvent(uuid, skill, prev, newLevel, newTraitPoints)
-                );
-            });
+    /**
+     * Caches the snapshot handed off by the player's previous server, if there is one.
+     *
+     * @param deadline latest {@link System#nanoTime()} to wait for the previous server until
+     * @return false if the player must be loaded from the database
+     */
+    boolean receiveHandoff(@NotNull UUID uuid, long deadline) {
+        String snapshot = PlayerHandoff.receive(namespace, uuid, deadline);
+        if (snapshot == null) return false;
+        SkillsDatabase.PlayerDataDB data;
+        try {
+            data = decode(snapshot);
+        } catch (RuntimeException e) {
+            ConsoleUtils.severe(prefix(), "Unreadable handoff of " + uuid + ", loading from the database: " + e.getMessage());
+            return false;
         }
+        fill(uuid, data);
+        return true;
     }
 
-    private SkillsDatabase.PlayerDataDB toRepo(PlayerData data) {
+    /**
+     * Releases the player's Redis session after their load failed. Nothing is cached,
+     * so nothing here can overwrite what another server loads.
+     */
+    void releaseHandoff(@NotNull UUID uuid) {
+        PlayerHandoff.release(namespace, uuid);
+    }
+
+    private static String encode(SkillsDatabase.PlayerDataDB data) {
+        Map<String, String> values = new HashMap<>();
+        values.put("name", data.name() == null ? "" : data.name());
+        values.put("exp", Double.toString(data.exp()));
+        values.put("bxp", Double.toString(data.bxp()));
+        values.put("xpm", Double.toString(data.xpm()));
+        values.put("level", Integer.toString(data.level()));
+        values.put("luck", Integer.toString(data.luck()));
+        values.put("traitPoints", Integer.toString(data.traitPoints()));
+        values.put("talentPoints", Integer.toString(data.talentPoints()));
+        values.put("wisdom", Integer.toString(data.wisdomTrait()));
+        values.put("charisma", Integer.toString(data.charismaTrait()));
+        values.put("karma", Integer.toString(data.karmaTrait()));
+        values.put("dexterity", Integer.toString(data.dexterityTrait()));
+        return PlayerHandoff.encode(values);
+    }
+
+    private static SkillsDatabase.PlayerDataDB decode(String snapshot) {
+        Map<String, String> values = PlayerHandoff.decode(snapshot);
         return new SkillsDatabase.PlayerDataDB(
-                data.name, data.exp, data.bxp, data.xpm, data.level, data.luck,
-                data.traitPoints, data.talentPoints, data.wisdomTrait, data.charismaTrait, data.karmaTrait, data.dexterityTrait
+                values.get("name"),
+                Double.parseDouble(values.get("exp")),
+                Double.parseDouble(values.get("bxp")),
+                Double.parseDouble(values.get("xpm")),
+                Integer.parseInt(values.get("level")),
+                Integer.parseInt(values.get("luck")),
+                Integer.parseInt(values.get("traitPoints")),
+                Integer.parseInt(values.get("talentPoints")),
+                Integer.parseInt(values.get("wisdom")),
+                Integer.parseInt(values.get("charisma")),
+                Integer.parseInt(values.get("karma")),
+                Integer.parseInt(values.get("dexterity"))
         );
     }
 
-    private PlayerData toMemoryData(SkillsDatabase.PlayerDataDB data) {
-        return new PlayerData(
-                data.name(), data.exp(), data.bxp(), data.xpm(), data.level(), data.luck(),
-                data.traitPoints(), data.talentPoints(), data.wisdomTrait(), data.charismaTrait(),
-                data.karmaTrait(), data.dexterityTrait()
-        );
+    // Caller must hold the slot's lock.
+    private void ranked(UUID uuid, int slot) {
+        SkillLeaderboard board = leaderboard;
+        if (board != null) board.update(uuid, store.name(slot), store.level(slot), store.exp(slot));
+    }
+
+    /**
+     * Handles an update for a player that is not cached. Never loads on the calling thread:
+     * the update is queued behind an async load if one is running or the player is online,
+     * otherwise it is rejected. Queued updates run in arrival order once the load finished.
+     */
+    private void defer(UUID uuid, Runnable update) {
+        while (true) {
+            Deferred queue = deferred.get(uuid);
+            if (queue == null) {
+                if (!isLoading(uuid) && Bukkit.getPlayer(uuid) == null) {
+                    ConsoleUtils.warning(prefix(), "Rejected update for " + uuid + ": player data is not loaded.");
+                    return;
+                }
+                Deferred created = new Deferred();
+                queue = deferred.putIfAbsent(uuid, created);
+                if (queue == null) {
+                    synchronized (created) {
+                        created.updates.add(update);
+                    }
+                    loadAsync(uuid).thenRun(() -> drainDeferred(uuid));
+                    return;
+                }
+            }
+            synchronized (queue) {
+                if (!queue.closed) {
+                    queue.updates.add(update);
+                    return;
+                }
+            }
+            // Drained and removed meanwhile; start over
+        }
+    }
+
+    /**
+     * Returns true if updates for this player must wait behind deferred ones. The thread draining
+     * the queue applies them directly.
+     */
+    private boolean queued(UUID uuid) {
+        Deferred queue = deferred.get(uuid);
+        if (queue == null) return false;
+        synchronized (queue) {
+            return !queue.closed && queue.drainer != Thread.currentThread();
+        }
+    }
+
+    /**
+     * Applies the player's deferred updates in order, including any queued while draining.
+     * Updates for a player that failed to load are dropped.
+     */
+    private void drainDeferred(UUID uuid) {
+        Deferred queue = deferred.get(uuid);
+        if (queue == null) return;
+        synchronized (queue) {
+            if (queue.drainer != null || queue.closed) return;
+            queue.drainer = Thread.currentThread();
+        }
+
+        int dropped = 0;
+        while (true) {
+            Runnable update;
+            synchronized (queue) {
+                update = queue.updates.poll();
+                if (update == null) {
+                    queue.closed = true;
+                    deferred.remove(uuid, queue);
+                    break;
+                }
+            }
+            if (isLoaded(uuid)) {
+                update.run();
+            } else {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            ConsoleUtils.warning(prefix(), "Dropped " + dropped + " update(s) for " + uuid + ": player data failed to load.");
+        }
+    }
+
+    /**
+     * Returns true if a load that will fill this skill is running, either its own or the shared
+     * {@link MultiSkillLoader} load.
+     */
+    private boolean isLoading(UUID uuid) {
+        if (PlayerDataPipeline.isLoading(this, uuid)) return true;
+        return shared && PlayerDataPipeline.isLoading(MultiSkillLoader.loader(), uuid);
+    }
+
+    /**
+     * Loads the player through the same loader the pipeline uses for this skill, joining its in-flight load.
+     */
+    private CompletableFuture<Void> loadAsync(UUID uuid) {
+        if (shared) return PlayerDataPipeline.load(MultiSkillLoader.loader(), uuid);
+        return PlayerDataPipeline.load(this, uuid);
+    }
+
+    // Caller must hold the slot's lock.
+    private double consumeBonusXp(int slot, double value) {
+        double bxp = store.bxp(slot);
+        if (bxp <= 0.0) return 0.0;
+
+        double bonus = Math.min(bxp, value);
+        store.bxp(slot, (bonus >= value) ? (bxp - value) : 0.0);
+        return bonus;
+    }
+
+    /**
+     * Applies every level gained from the current EXP. Must be called while holding the slot's lock
+     * so the EXP read and the level/trait point writes are one atomic step.
+     */
+    private void checkLevelUp(@NotNull UUID uuid, int slot) {
+        int prev = store.level(slot);
+        int newLevel = curve.getLevel(prev, store.exp(slot));
+        if (newLevel == prev) return;
+
+        // only levels up to MAX_LEVEL give trait points
+        int newTraitPoints = store.traitPoints(slot) + curve.getTraitPoints(prev, newLevel);
+        store.level(slot, newLevel);
+        store.traitPoints(slot, newTraitPoints);
+        changed(uuid, SkillsJournal.LEVEL, newLevel);
+        changed(uuid, SkillsJournal.TRAIT_POINTS, newTraitPoints);
+
+        SkillLevelUpDispatcher.queue(uuid, skill, prev, newLevel, newTraitPoints);
     }
 
     private String prefix() {
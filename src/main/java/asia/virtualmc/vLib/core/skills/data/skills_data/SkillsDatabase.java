@@ -1,6 +1,10 @@
 package asia.virtualmc.vLib.core.skills.data.skills_data;
 
+import asia.virtualmc.vLib.Registry;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
 import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.UUID;
@@ -11,6 +15,25 @@ import java.util.UUID;
  */
 public interface SkillsDatabase {
 
+    /**
+     * Returns the backend selected by a plugin, e.g. from a {@code storage-type} option in its own config.
+     * Falls back to SQLite if MySQL is requested but the vLib {@code mysql} module is disabled.
+     *
+     * @param plugin owning plugin
+     * @param type   {@code "mysql"} or {@code "sqlite"} (case-insensitive)
+     * @return the storage backend for the plugin's skill data
+     */
+    static SkillsDatabase of(@NotNull Plugin plugin, String type) {
+        if ("sqlite".equalsIgnoreCase(type)) return new SQLiteSkillsDatabase(plugin);
+
+        Map<String, Boolean> modules = Registry.getModules();
+        if (!Boolean.TRUE.equals(modules.get("mysql")) && Boolean.TRUE.equals(modules.get("sqlite"))) {
+            ConsoleUtils.warning("[" + plugin.getName() + "]", "MySQL module is disabled, storing skills data in SQLite.");
+            return new SQLiteSkillsDatabase(plugin);
+        }
+        return new SkillsDatabaseAdapter();
+    }
+
     /**
      * Create backing table(s) for this service if needed.
      *
@@ -29,6 +52,21 @@ public interface SkillsDatabase {
      */
     PlayerDataDB load(Plugin plugin, String table, UUID uuid);
 
+    /**
+     * Read a player's stored stats without creating anything, e.g. for offline lookups.
+     * The default delegates to {@link #load}; backends whose load creates rows override it.
+     *
+     * @param plugin plugin context
+     * @param table  table name
+     * @param uuid   player uuid
+     * @return stored stats, or null if the player has none
+     * @throws IllegalStateException if the read failed
+     */
+    @Nullable
+    default PlayerDataDB find(Plugin plugin, String table, UUID uuid) {
+        return load(plugin, table, uuid);
+    }
+
     /**
      * Persist a single player's stats.
      *
@@ -48,6 +86,18 @@ public interface SkillsDatabase {
      */
     void saveAll(Plugin plugin, String table, Map<UUID, PlayerDataDB> all);
 
+    /**
+     * Load every stored player's stats, e.g. to build a leaderboard.
+     * Backends that cannot enumerate players return an empty map.
+     *
+     * @param plugin plugin context
+     * @param table  table name
+     * @return map of uuid -> stats
+     */
+    default Map<UUID, PlayerDataDB> loadAll(Plugin plugin, String table) {
+        return Map.of();
+    }
+
     /**
      * Immutable data carrier for stats to keep vLib decoupled from DB model types.
      */
@@ -19,11 +19,24 @@ public final class SkillsDatabaseAdapter implements SkillsDatabase {
 
     @Override
     public PlayerDataDB load(Plugin plugin, String table, UUID uuid) {
-        asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats s = asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.loadPlayerData(plugin, uuid);
-        return new PlayerDataDB(
-                s.name, s.exp, s.bxp, s.xpm, s.level, s.luck, s.traitPoints, s.talentPoints,
-                s.wisdomTrait, s.charismaTrait, s.karmaTrait, s.dexterityTrait
-        );
+        return toData(asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.loadPlayerData(plugin, uuid));
+    }
+
+    @Override
+    public PlayerDataDB find(Plugin plugin, String table, UUID uuid) {
+        asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats stats =
+                asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.findPlayerData(plugin, uuid);
+        return stats != null ? toData(stats) : null;
+    }
+
+    @Override
+    public Map<UUID, PlayerDataDB> loadAll(Plugin plugin, String table) {
+        Map<UUID, PlayerDataDB> all = new HashMap<>();
+        for (Map.Entry<UUID, asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats> e :
+                asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.loadAllPlayerData(plugin).entrySet()) {
+            all.put(e.getKey(), toData(e.getValue()));
+        }
+        return all;
     }
 
     @Override
@@ -39,13 +52,25 @@ public final class SkillsDatabaseAdapter implements SkillsDatabase {
     public void saveAll(Plugin plugin, String table, Map<UUID, PlayerDataDB> all) {
         Map<UUID, asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats> raw = new HashMap<>();
         for (Map.Entry<UUID, PlayerDataDB> e : all.entrySet()) {
-            PlayerDataDB d = e.getValue();
-            raw.put(e.getKey(), new asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats(
-                    d.name(), d.exp(), d.bxp(), d.xpm(), d.level(), d.luck(),
-                    d.traitPoints(), d.talentPoints(), d.wisdomTrait(), d.charismaTrait(),
-                    d.karmaTrait(), d.dexterityTrait()
-            ));
+            raw.put(e.getKey(), toStats(e.getValue()));
+        }
+        if (asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.saveAllData(plugin, raw) < 0) {
+            throw new IllegalStateException("Failed to save " + raw.size() + " player(s) of " + plugin.getName());
         }
-        asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.saveAllData(plugin, raw);
+    }
+
+    static PlayerDataDB toData(asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats s) {
+        return new PlayerDataDB(
+                s.name, s.exp, s.bxp, s.xpm, s.level, s.luck, s.traitPoints, s.talentPoints,
+                s.wisdomTrait, s.charismaTrait, s.karmaTrait, s.dexterityTrait
+        );
+    }
+
+    static asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats toStats(PlayerDataDB d) {
+        return new asia.virtualmc.vLib.storage.mysql.skills.SkillsDatabase.PlayerStats(
+                d.name(), d.exp(), d.bxp(), d.xpm(), d.level(), d.luck(),
+                d.traitPoints(), d.talentPoints(), d.wisdomTrait(), d.charismaTrait(),
+                d.karmaTrait(), d.dexterityTrait()
+        );
     }
 }
@@ -0,0 +1,226 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Memory-mapped, append-only journal of skill stat changes, kept in two segment files.
+ * Each record holds the value a field had right after an update, so replaying is idempotent
+ * and does not depend on what the database held at the time.
+ * <p>
+ * Records are appended to the active segment. {@link #position()} seals it and switches to the
+ * other, empty segment, so a flush that drains after that call covers every sealed record.
+ * Once the flush committed, {@link #compact(long)} clears the sealed segment. Nothing appends to a
+ * sealed segment, so clearing runs outside the journal's monitor and never holds up updates.
+ * <p>
+ * Segment layout: magic (4), unused (4), generation (8), then records.
+ * Record layout (25 bytes): uuid msb (8), uuid lsb (8), value (8), field (1).
+ * The field byte is written last and is never 0, so a zero byte marks the end of a segment.
+ */
+final class SkillsJournal {
+    static final byte EXP = 1;
+    static final byte BXP = 2;
+    static final byte XPM = 3;
+    static final byte LEVEL = 4;
+    static final byte LUCK = 5;
+    static final byte TRAIT_POINTS = 6;
+    static final byte TALENT_POINTS = 7;
+    static final byte WISDOM = 8;
+    static final byte CHARISMA = 9;
+    static final byte KARMA = 10;
+    static final byte DEXTERITY = 11;
+
+    private static final int MAGIC = 0x564A524E;
+    private static final int HEADER = 16;
+    private static final int RECORD_SIZE = 25;
+    private static final int INITIAL_SIZE = HEADER + RECORD_SIZE * 40_000;
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(UUID uuid, byte field, double value);
+    }
+
+    private static final class Segment {
+        final FileChannel channel;
+        MappedByteBuffer buffer;
+        long generation;
+        int end = HEADER;
+        // Set while compact() zeroes this segment outside the monitor
+        boolean clearing;
+
+        Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void setGeneration(long generation) {
+            this.generation = generation;
+            buffer.putLong(8, generation);
+        }
+    }
+
+    // Guarded by this
+    private final Segment[] segments;
+    private int active;
+
+    private SkillsJournal(Segment first, Segment second) {
+        this.segments = new Segment[] {first, second};
+        this.active = first.generation >= second.generation ? 0 : 1;
+        Segment current = segments[active];
+        if (current.generation <= segments[1 - active].generation) current.setGeneration(segments[1 - active].generation + 1);
+    }
+
+    /**
+     * Opens (or creates) the journal at {@code path} and {@code path.1}, positioned after the last complete records.
+     */
+    static SkillsJournal open(@NotNull Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        return new SkillsJournal(openSegment(path), openSegment(path.resolveSibling(path.getFileName() + ".1")));
+    }
+
+    /**
+     * Passes every stored record, oldest first, to the consumer.
+     */
+    synchronized void replay(@NotNull RecordConsumer consumer) {
+        Segment older = segments[1 - active];
+        scan(older, consumer);
+        scan(segments[active], consumer);
+    }
+
+    synchronized void append(@NotNull UUID uuid, byte field, double value) {
+        Segment segment = segments[active];
+        int end = segment.end;
+        if (end + RECORD_SIZE > segment.buffer.capacity()) grow(segment);
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putLong(end, uuid.getMostSignificantBits());
+        buffer.putLong(end + 8, uuid.getLeastSignificantBits());
+        buffer.putDouble(end + 16, value);
+        buffer.put(end + 24, field);
+        segment.end = end + RECORD_SIZE;
+    }
+
+    /**
+     * Seals the active segment if the other one is free, and returns a position to pass to
+     * {@link #compact(long)}. Every record before it is covered by a flush whose drain starts after this call.
+     */
+    synchronized long position() {
+        Segment current = segments[active];
+        Segment other = segments[1 - active];
+        if (current.end > HEADER && other.end == HEADER && !other.clearing) {
+            other.setGeneration(current.generation + 1);
+            active = 1 - active;
+        }
+        return segments[active].generation;
+    }
+
+    /**
+     * Clears the sealed segment if every record in it is before the given position.
+     * The segment is zeroed outside the monitor; appends continue meanwhile.
+     */
+    void compact(long position) {
+        Segment sealed;
+        synchronized (this) {
+            sealed = segments[1 - active];
+            if (sealed.generation >= position || sealed.end == HEADER || sealed.clearing) return;
+            sealed.clearing = true;
+        }
+
+        // Zeroed front to back, so an interrupted clear leaves an empty-looking segment
+        zero(sealed.buffer, HEADER, sealed.end);
+
+        synchronized (this) {
+            sealed.end = HEADER;
+            sealed.clearing = false;
+        }
+    }
+
+    /**
+     * Drops every record. Only for use before the journal is shared, e.g. after a replay was saved.
+     */
+    synchronized void clear() {
+        for (Segment segment : segments) {
+            zero(segment.buffer, HEADER, segment.end);
+            segment.end = HEADER;
+        }
+    }
+
+    /**
+     * Writes mapped changes through to the disk, so they also survive an OS crash.
+     * Runs outside the monitor; appends continue while the pages are written.
+     */
+    void force() {
+        MappedByteBuffer first;
+        MappedByteBuffer second;
+        synchronized (this) {
+            first = segments[0].buffer;
+            second = segments[1].buffer;
+        }
+        first.force();
+        second.force();
+    }
+
+    synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+    }
+
+    private static Segment openSegment(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), INITIAL_SIZE);
+        Segment segment = new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        MappedByteBuffer buffer = segment.buffer;
+
+        if (buffer.getInt(0) != MAGIC) {
+            // New file, or one in an unknown layout
+            zero(buffer, 0, buffer.capacity());
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(8, 0L);
+        }
+        segment.generation = buffer.getLong(8);
+        segment.end = scan(segment, null);
+        // Records left behind an interrupted clear would otherwise resurface once appends reach them
+        zero(buffer, segment.end, buffer.capacity());
+        return segment;
+    }
+
+    private static int scan(Segment segment, RecordConsumer consumer) {
+        MappedByteBuffer buffer = segment.buffer;
+        int pos = HEADER;
+        while (pos + RECORD_SIZE <= buffer.capacity()) {
+            byte field = buffer.get(pos + 24);
+            if (field == 0) break;
+            if (consumer != null) {
+                UUID uuid = new UUID(buffer.getLong(pos), buffer.getLong(pos + 8));
+                consumer.accept(uuid, field, buffer.getDouble(pos + 16));
+            }
+            pos += RECORD_SIZE;
+        }
+        return pos;
+    }
+
+    private static void zero(MappedByteBuffer buffer, int from, int to) {
+        for (int pos = from; pos < to; pos += ZEROS.length) {
+            buffer.put(pos, ZEROS, 0, Math.min(ZEROS.length, to - pos));
+        }
+    }
+
+    private static void grow(Segment segment) {
+        try {
+            segment.buffer.force();
+            segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segment.buffer.capacity() * 2);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to grow skills journal: " + e.getMessage(), e);
+        }
+    }
+}
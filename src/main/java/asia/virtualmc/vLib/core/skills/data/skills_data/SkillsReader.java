@@ -12,6 +12,8 @@ public interface SkillsReader {
     int getTraitPoints(UUID uuid);
     int getTalentPoints(UUID uuid);
     int[] getAllTraits(UUID uuid);
+    boolean getAllTraits(UUID uuid, int[] out);
+    boolean readInto(UUID uuid, SkillsView view);
     int getWisdom(UUID uuid);
     int getCharisma(UUID uuid);
     int getKarma(UUID uuid);
@@ -0,0 +1,220 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Struct-of-arrays storage for cached skill stats.
+ * Each loaded player gets a slot for the session; every stat lives in its own primitive column.
+ * Columns are split into fixed-size pages so growing the store never moves existing slots.
+ * <p>
+ * Writers must hold {@link #lock(int)} for the slot and check {@link #owns(int, UUID)} first,
+ * since a slot can be released and handed to another player between lookup and write.
+ */
+final class SkillsStore {
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int LOCK_STRIPES = 64;
+
+    private static final class Page {
+        final UUID[] owner = new UUID[PAGE_SIZE];
+        final String[] name = new String[PAGE_SIZE];
+        final double[] exp = new double[PAGE_SIZE];
+        final double[] bxp = new double[PAGE_SIZE];
+        final double[] xpm = new double[PAGE_SIZE];
+        final int[] level = new int[PAGE_SIZE];
+        final int[] luck = new int[PAGE_SIZE];
+        final int[] traitPoints = new int[PAGE_SIZE];
+        final int[] talentPoints = new int[PAGE_SIZE];
+        final int[] wisdom = new int[PAGE_SIZE];
+        final int[] charisma = new int[PAGE_SIZE];
+        final int[] karma = new int[PAGE_SIZE];
+        final int[] dexterity = new int[PAGE_SIZE];
+    }
+
+    private final ConcurrentHashMap<UUID, Integer> slots = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private volatile Page[] pages = new Page[0];
+
+    // Guarded by this
+    private int nextSlot = 0;
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+
+    SkillsStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns the slot assigned to the player, or -1 if the player is not loaded.
+     */
+    int slot(@NotNull UUID uuid) {
+        Integer slot = slots.get(uuid);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Returns a live view of the loaded players.
+     */
+    Set<UUID> players() {
+        return slots.keySet();
+    }
+
+    /**
+     * Returns the striped monitor guarding the slot. Adjacent slots map to different stripes,
+     * so concurrent writers only contend when they touch the same stripe.
+     */
+    Object lock(int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Returns true if the slot still belongs to the player. Call while holding {@link #lock(int)}.
+     */
+    boolean owns(int slot, @NotNull UUID uuid) {
+        return uuid.equals(page(slot).owner[slot & PAGE_MASK]);
+    }
+
+    /**
+     * Stores the player's data in a new slot. A player that is already loaded keeps their slot
+     * and cached values. The slot is published only after all columns are written.
+     *
+     * @return the new slot, or -1 if the player was already loaded
+     */
+    synchronized int insert(@NotNull UUID uuid, @NotNull SkillsDatabase.PlayerDataDB data) {
+        if (slots.containsKey(uuid)) return -1;
+        int slot = allocate();
+        synchronized (lock(slot)) {
+            write(slot, uuid, data);
+        }
+        slots.put(uuid, slot);
+        return slot;
+    }
+
+    /**
+     * Removes the player and returns their slot to the free list.
+     *
+     * @return the released slot, or -1 if the player was not loaded
+     */
+    int remove(@NotNull UUID uuid) {
+        Integer slot = slots.remove(uuid);
+        if (slot == null) return -1;
+
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        synchronized (lock(slot)) {
+            page.owner[i] = null;
+            page.name[i] = null;
+        }
+        synchronized (this) {
+            if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            freeSlots[freeCount++] = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns a consistent copy of the slot, taken under the slot's lock.
+     *
+     * @return the player's data, or null if the slot no longer belongs to the player
+     */
+    SkillsDatabase.PlayerDataDB read(int slot, @NotNull UUID uuid) {
+        Page p = page(slot);
+        int i = slot & PAGE_MASK;
+        synchronized (lock(slot)) {
+            if (!uuid.equals(p.owner[i])) return null;
+            return new SkillsDatabase.PlayerDataDB(
+                    p.name[i], p.exp[i], p.bxp[i], p.xpm[i], p.level[i], p.luck[i],
+                    p.traitPoints[i], p.talentPoints[i], p.wisdom[i], p.charisma[i], p.karma[i], p.dexterity[i]
+            );
+        }
+    }
+
+    /**
+     * Copies the slot into a caller-owned view under the slot's lock, without allocating.
+     *
+     * @return false if the slot no longer belongs to the player
+     */
+    boolean readInto(int slot, @NotNull UUID uuid, @NotNull SkillsView view) {
+        Page p = page(slot);
+        int i = slot & PAGE_MASK;
+        synchronized (lock(slot)) {
+            if (!uuid.equals(p.owner[i])) return false;
+            view.set(uuid, p.name[i], p.exp[i], p.bxp[i], p.xpm[i], p.level[i], p.luck[i],
+                    p.traitPoints[i], p.talentPoints[i], p.wisdom[i], p.charisma[i], p.karma[i], p.dexterity[i]);
+            return true;
+        }
+    }
+
+    // ---------- Columns ----------
+
+    String name(int slot)         { return page(slot).name[slot & PAGE_MASK]; }
+    double exp(int slot)          { return page(slot).exp[slot & PAGE_MASK]; }
+    double bxp(int slot)          { return page(slot).bxp[slot & PAGE_MASK]; }
+    double xpm(int slot)          { return page(slot).xpm[slot & PAGE_MASK]; }
+    int level(int slot)           { return page(slot).level[slot & PAGE_MASK]; }
+    int luck(int slot)            { return page(slot).luck[slot & PAGE_MASK]; }
+    int traitPoints(int slot)     { return page(slot).traitPoints[slot & PAGE_MASK]; }
+    int talentPoints(int slot)    { return page(slot).talentPoints[slot & PAGE_MASK]; }
+    int wisdom(int slot)          { return page(slot).wisdom[slot & PAGE_MASK]; }
+    int charisma(int slot)        { return page(slot).charisma[slot & PAGE_MASK]; }
+    int karma(int slot)           { return page(slot).karma[slot & PAGE_MASK]; }
+    int dexterity(int slot)       { return page(slot).dexterity[slot & PAGE_MASK]; }
+
+    void name(int slot, String v)       { page(slot).name[slot & PAGE_MASK] = v; }
+    void exp(int slot, double v)        { page(slot).exp[slot & PAGE_MASK] = v; }
+    void bxp(int slot, double v)        { page(slot).bxp[slot & PAGE_MASK] = v; }
+    void xpm(int slot, double v)        { page(slot).xpm[slot & PAGE_MASK] = v; }
+    void level(int slot, int v)         { page(slot).level[slot & PAGE_MASK] = v; }
+    void luck(int slot, int v)          { page(slot).luck[slot & PAGE_MASK] = v; }
+    void traitPoints(int slot, int v)   { page(slot).traitPoints[slot & PAGE_MASK] = v; }
+    void talentPoints(int slot, int v)  { page(slot).talentPoints[slot & PAGE_MASK] = v; }
+    void wisdom(int slot, int v)        { page(slot).wisdom[slot & PAGE_MASK] = v; }
+    void charisma(int slot, int v)      { page(slot).charisma[slot & PAGE_MASK] = v; }
+    void karma(int slot, int v)         { page(slot).karma[slot & PAGE_MASK] = v; }
+    void dexterity(int slot, int v)     { page(slot).dexterity[slot & PAGE_MASK] = v; }
+
+    // ---------- Internals ----------
+
+    private Page page(int slot) {
+        return pages[slot >>> PAGE_SHIFT];
+    }
+
+    private synchronized int allocate() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+
+        int slot = nextSlot++;
+        int pageIndex = slot >>> PAGE_SHIFT;
+        if (pageIndex >= pages.length) {
+            Page[] grown = Arrays.copyOf(pages, pageIndex + 1);
+            grown[pageIndex] = new Page();
+            pages = grown;
+        }
+        return slot;
+    }
+
+    private void write(int slot, UUID uuid, SkillsDatabase.PlayerDataDB d) {
+        Page p = page(slot);
+        int i = slot & PAGE_MASK;
+        p.owner[i] = uuid;
+        p.name[i] = d.name();
+        p.exp[i] = d.exp();
+        p.bxp[i] = d.bxp();
+        p.xpm[i] = d.xpm();
+        p.level[i] = d.level();
+        p.luck[i] = d.luck();
+        p.traitPoints[i] = d.traitPoints();
+        p.talentPoints[i] = d.talentPoints();
+        p.wisdom[i] = d.wisdomTrait();
+        p.charisma[i] = d.charismaTrait();
+        p.karma[i] = d.karmaTrait();
+        p.dexterity[i] = d.dexterityTrait();
+    }
+}
@@ -0,0 +1,55 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import java.util.UUID;
+
+/**
+ * Reusable, mutable snapshot of one player's skill stats.
+ * Filled by {@link SkillsReader#readInto(UUID, SkillsView)} so hot readers (GUIs, placeholders)
+ * can read every field without allocating. Not thread-safe; keep one per reader thread.
+ */
+public final class SkillsView {
+    private UUID uuid;
+    private String name;
+    private double exp;
+    private double bxp;
+    private double xpm;
+    private int level;
+    private int luck;
+    private int traitPoints;
+    private int talentPoints;
+    private int wisdom;
+    private int charisma;
+    private int karma;
+    private int dexterity;
+
+    void set(UUID uuid, String name, double exp, double bxp, double xpm, int level, int luck,
+             int traitPoints, int talentPoints, int wisdom, int charisma, int karma, int dexterity) {
+        this.uuid = uuid;
+        this.name = name;
+        this.exp = exp;
+        this.bxp = bxp;
+        this.xpm = xpm;
+        this.level = level;
+        this.luck = luck;
+        this.traitPoints = traitPoints;
+        this.talentPoints = talentPoints;
+        this.wisdom = wisdom;
+        this.charisma = charisma;
+        this.karma = karma;
+        this.dexterity = dexterity;
+    }
+
+    public UUID getUUID()          { return uuid; }
+    public String getName()        { return name; }
+    public double getEXP()         { return exp; }
+    public double getBXP()         { return bxp; }
+    public double getXPM()         { return xpm; }
+    public int getLevel()          { return level; }
+    public int getLuck()           { return luck; }
+    public int getTraitPoints()    { return traitPoints; }
+    public int getTalentPoints()   { return talentPoints; }
+    public int getWisdom()         { return wisdom; }
+    public int getCharisma()       { return charisma; }
+    public int getKarma()          { return karma; }
+    public int getDexterity()      { return dexterity; }
+}
@@ -0,0 +1,61 @@
+package asia.virtualmc.vLib.core.skills.utilities.level_up;
+
+import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.events.skills.SkillLevelUpEvent;
+import asia.virtualmc.vLib.utilities.enums.EnumsLib;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects level-ups of every skill and fires them as {@link SkillLevelUpEvent}s in a single scheduled batch.
+ * Several level-ups of the same player and skill before the batch runs are merged into one event
+ * spanning the first previous level to the final level.
+ * <p>
+ * The batch task is owned by vLib, so it keeps running while individual skill plugins reload.
+ */
+public final class SkillLevelUpDispatcher {
+    private static final ConcurrentHashMap<Key, PendingLevelUp> pending = new ConcurrentHashMap<>();
+    private static final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private record Key(UUID uuid, EnumsLib.Skills skill) {}
+    private record PendingLevelUp(int previousLevel, int newLevel, int traitPoints) {}
+
+    private SkillLevelUpDispatcher() {}
+
+    /**
+     * Queues a level-up for the next batch, merging it with any pending level-up of the same player and skill.
+     *
+     * @param uuid          player UUID
+     * @param skill         skill that leveled up
+     * @param previousLevel level before this level-up
+     * @param newLevel      level after this level-up
+     * @param traitPoints   trait points after this level-up
+     */
+    public static void queue(@NotNull UUID uuid, @NotNull EnumsLib.Skills skill,
+                             int previousLevel, int newLevel, int traitPoints) {
+        pending.merge(new Key(uuid, skill), new PendingLevelUp(previousLevel, newLevel, traitPoints),
+                (old, next) -> new PendingLevelUp(old.previousLevel, next.newLevel, next.traitPoints));
+
+        if (scheduled.compareAndSet(false, true)) {
+            Main plugin = Main.getInstance();
+            plugin.getServer().getGlobalRegionScheduler().run(plugin, task -> dispatch());
+        }
+    }
+
+    private static void dispatch() {
+        // Reset first so level-ups queued while dispatching schedule the next batch.
+        scheduled.set(false);
+        for (Key key : pending.keySet()) {
+            PendingLevelUp levelUp = pending.remove(key);
+            if (levelUp == null) continue;
+
+            Bukkit.getPluginManager().callEvent(new SkillLevelUpEvent(
+                    key.uuid, key.skill, levelUp.previousLevel, levelUp.newLevel, levelUp.traitPoints
+            ));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package asia.virtualmc.vLib.listeners;
+
+import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.Registry;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataPipeline;
+import asia.virtualmc.vLib.storage.mysql.vlib_data.PlayerIDData;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import asia.virtualmc.vLib.utilities.paper.TaskUtils;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class PlayerPreLoginListener implements Listener {
+    private static final long TIMEOUT_SECONDS = 10;
+    // Prefetched players who have not joined after this long are unloaded again
+    private static final long JOIN_TIMEOUT_SECONDS = 60;
+    private static final double REAP_INTERVAL = 30;
+
+    public PlayerPreLoginListener(@NotNull Main plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        TaskUtils.repeatingAsync(plugin, () -> PlayerDataPipeline.reap(JOIN_TIMEOUT_SECONDS), REAP_INTERVAL);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        // Already off the main thread; waiting here keeps JDBC out of join/tick handlers.
+        UUID uuid = event.getUniqueId();
+        if (Boolean.TRUE.equals(Registry.getModules().get("mysql"))) {
+            PlayerIDData.prefetch(uuid);
+        }
+
+        try {
+            PlayerDataPipeline.load(uuid).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            ConsoleUtils.warning("Player data for " + event.getName() + " is still loading after " +
+                    TIMEOUT_SECONDS + "s, updates will be queued until it finishes.");
+        } catch (Exception e) {
+            ConsoleUtils.severe("Failed to prefetch player data for " + event.getName() + ": " + e.getMessage());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        // A denied login never reaches join or quit, so nothing else would unload the prefetched data
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            PlayerDataPipeline.discard(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        PlayerDataPipeline.joined(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,257 @@
+package asia.virtualmc.vLib.storage;
+
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * vLib-owned executor for blocking database work, kept off Paper's shared async pool so a burst of
+ * saves cannot starve chunk I/O or other plugins (and vice versa).
+ * <p>
+ * Each task runs on its own virtual thread, but at most {@code concurrency} run at once (usually the
+ * connection pool size), so waiting happens in a queue ordered by {@link Priority} instead of inside
+ * the pool. Tasks may carry a timeout on their queue wait; a task still queued when it expires is dropped.
+ * Running tasks are never interrupted: interrupting a virtual thread blocked in socket I/O closes the
+ * socket, which would abort a save mid-transaction. Bound statements with {@code Statement#setQueryTimeout}.
+ */
+public class DatabaseExecutor {
+
+    /**
+     * Queue order; earlier constants run first.
+     */
+    public enum Priority {
+        /** Player loads on join and reads a player is waiting for. */
+        LOAD(Duration.ofSeconds(10)),
+        /** Write-behind flushes and explicit saves. */
+        SAVE(Duration.ofSeconds(30)),
+        /** Leaderboards, statistics and other background reads. */
+        ANALYTICS(Duration.ofSeconds(60));
+
+        private final Duration defaultTimeout;
+
+        Priority(Duration defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+        }
+
+        public Duration getDefaultTimeout() {
+            return defaultTimeout;
+        }
+    }
+
+    private static final int DEFAULT_CONCURRENCY = 10;
+    private static final ThreadFactory THREADS = Thread.ofVirtual().name("vLib-db-", 0).factory();
+    private static final PriorityBlockingQueue<Task<?>> queue = new PriorityBlockingQueue<>();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final AtomicInteger running = new AtomicInteger();
+    private static final Object idle = new Object();
+    private static volatile Semaphore permits = new Semaphore(DEFAULT_CONCURRENCY);
+    private static volatile int concurrency = DEFAULT_CONCURRENCY;
+    private static volatile boolean accepting = true;
+
+    // Metrics
+    private static final AtomicLong completed = new AtomicLong();
+    private static final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * (Re)starts accepting tasks with the given concurrency limit. Called by {@link StorageManager#enable()}.
+     *
+     * @param maxConcurrent maximum number of tasks running at once, usually the connection pool size
+     */
+    public static void start(int maxConcurrent) {
+        int limit = Math.max(1, maxConcurrent);
+        if (limit != concurrency) {
+            // Running tasks release the semaphore they acquired, so swapping it is safe.
+            permits = new Semaphore(limit);
+            concurrency = limit;
+        }
+        accepting = true;
+        pump();
+    }
+
+    /**
+     * Runs a task with the priority's default timeout.
+     *
+     * @return a future completing with the result, or exceptionally with the task's exception
+     *         or a {@link TimeoutException}
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> submit(@NotNull Priority priority, @NotNull Callable<T> work) {
+        return submit(priority, work, priority.getDefaultTimeout());
+    }
+
+    /**
+     * Runs a task on a virtual thread once a slot is free.
+     * After {@link #drain(Duration)} the task runs on the calling thread instead, so late saves
+     * during shutdown are not lost.
+     *
+     * @param timeout time from submission after which a task that has not started yet is dropped and its
+     *                future fails with a {@link TimeoutException}; a started task always runs to the end.
+     *                Null for no timeout
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> submit(@NotNull Priority priority, @NotNull Callable<T> work,
+                                                  @Nullable Duration timeout) {
+        Task<T> task = new Task<>(priority, sequence.getAndIncrement(), work);
+        if (!accepting) {
+            task.run();
+            return task.future;
+        }
+
+        queue.add(task);
+        if (timeout != null) {
+            CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS).execute(task::expire);
+        }
+        pump();
+        return task.future;
+    }
+
+    /**
+     * Runs a task with the priority's default timeout, logging failures.
+     */
+    @NotNull
+    public static CompletableFuture<Void> run(@NotNull Priority priority, @NotNull Runnable work) {
+        return DatabaseExecutor.<Void>submit(priority, () -> {
+            work.run();
+            return null;
+        }).whenComplete((result, error) -> {
+            if (error != null) ConsoleUtils.severe("Database task (" + priority + ") failed: " + error.getMessage());
+        });
+    }
+
+    /**
+     * Returns an {@link Executor} that queues tasks at the given priority without a timeout,
+     * e.g. for {@link CompletableFuture#runAsync(Runnable, Executor)} where every task must run.
+     */
+    @NotNull
+    public static Executor executor(@NotNull Priority priority) {
+        return task -> submit(priority, () -> {
+            task.run();
+            return null;
+        }, null);
+    }
+
+    /**
+     * Stops queuing new tasks and waits for queued and running ones to finish.
+     * Tasks still queued after the timeout are cancelled. Called by {@link StorageManager#disable()}.
+     *
+     * @param timeout how long to wait
+     * @return true if every task finished in time
+     */
+    public static boolean drain(@NotNull Duration timeout) {
+        accepting = false;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (!queue.isEmpty() || running.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) break;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        int dropped = 0;
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            if (task.future.cancel(false)) dropped++;
+        }
+        int stillRunning = running.get();
+        if (dropped > 0 || stillRunning > 0) {
+            ConsoleUtils.warning("Database executor drained with " + dropped + " queued task(s) cancelled and " +
+                    stillRunning + " still running.");
+            return false;
+        }
+        return true;
+    }
+
+    // ---------- Metrics ----------
+
+    public static int getQueued() { return queue.size(); }
+    public static int getRunning() { return running.get(); }
+    public static int getConcurrency() { return concurrency; }
+    public static long getCompleted() { return completed.get(); }
+    public static long getTimedOut() { return timedOut.get(); }
+
+    // ---------- Internals ----------
+
+    // Starts queued tasks while slots are free. Called after every submit and every finished task.
+    private static void pump() {
+        while (!queue.isEmpty()) {
+            Semaphore slots = permits;
+            if (!slots.tryAcquire()) return;
+            Task<?> task = queue.poll();
+            if (task == null) {
+                slots.release();
+                return;
+            }
+            running.incrementAndGet();
+            THREADS.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    slots.release();
+                    if (queue.isEmpty() && running.get() == 0) {
+                        synchronized (idle) {
+                            idle.notifyAll();
+                        }
+                    }
+                    pump();
+                }
+            }).start();
+        }
+    }
+
+    private static final class Task<T> implements Comparable<Task<?>> {
+        final Priority priority;
+        final long order;
+        final Callable<T> work;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Task(Priority priority, long order, Callable<T> work) {
+            this.priority = priority;
+            this.order = order;
+            this.work = work;
+        }
+
+        void run() {
+            // Skip tasks that timed out or were cancelled while queued.
+            if (future.isDone()) return;
+            try {
+                future.complete(work.call());
+                completed.incrementAndGet();
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        // Drops the task only if it is still queued; once started it is left to finish.
+        void expire() {
+            if (!queue.remove(this)) return;
+            if (future.completeExceptionally(new TimeoutException(priority + " task waited longer than its timeout"))) {
+                timedOut.incrementAndGet();
+            }
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int c = priority.compareTo(other.priority);
+            return c != 0 ? c : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package asia.virtualmc.vLib.storage;
+
+import asia.virtualmc.vLib.core.skills.data.WriteBehindQueue;
+import asia.virtualmc.vLib.core.skills.data.skills_data.MultiSkillLoader;
+import asia.virtualmc.vLib.storage.metrics.PoolWaitStats;
+import asia.virtualmc.vLib.storage.metrics.QueryMetrics;
+import asia.virtualmc.vLib.storage.metrics.QueryStats;
+import asia.virtualmc.vLib.storage.mysql.utilities.ConnectionQuota;
+import asia.virtualmc.vLib.storage.mysql.utilities.MySQLConnection;
+import dev.jorel.commandapi.CommandAPICommand;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+public class StorageCommands {
+    private static final int MAX_LISTED = 10;
+
+    /**
+     * /vlib storage [reset] - shows per-table query latency, row counts, skill flushes and connection pool waits.
+     */
+    public static CommandAPICommand storage() {
+        return new CommandAPICommand("storage")
+                .withPermission("vlib.admin")
+                .withSubcommand(new CommandAPICommand("reset")
+                        .executes((sender, args) -> {
+                            QueryMetrics.reset();
+                            sender.sendMessage("Storage metrics cleared.");
+                        }))
+                .executes((sender, args) -> {
+                    sendQueries(sender);
+                    sendFlushes(sender);
+                    sendPools(sender);
+                });
+    }
+
+    private static void sendQueries(CommandSender sender) {
+        if (!QueryMetrics.isEnabled()) {
+            sender.sendMessage("Storage metrics are disabled (storage_metrics.enabled in config.yml).");
+            return;
+        }
+
+        List<QueryStats> queries = QueryMetrics.getQueries();
+        sender.sendMessage(String.format(Locale.ROOT, "Queries by total time (slow log above %.0f ms):",
+                QueryMetrics.getSlowQueryMillis()));
+        if (queries.isEmpty()) {
+            sender.sendMessage("  No queries recorded yet.");
+        }
+        for (QueryStats q : queries.subList(0, Math.min(MAX_LISTED, queries.size()))) {
+            sender.sendMessage(String.format(Locale.ROOT,
+                    "  %s: %d calls, avg %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms, %d rows, %d errors",
+                    q.getLabel(), q.getCount(), q.getAverageMillis(), q.getPercentileMillis(95),
+                    q.getPercentileMillis(99), q.getMaxMillis(), q.getRows(), q.getErrors()));
+        }
+    }
+
+    private static void sendFlushes(CommandSender sender) {
+        Map<String, WriteBehindQueue<UUID>> queues = MultiSkillLoader.getQueues();
+        if (queues.isEmpty()) return;
+
+        sender.sendMessage("Skill flushes:");
+        for (Map.Entry<String, WriteBehindQueue<UUID>> entry : queues.entrySet()) {
+            WriteBehindQueue<UUID> q = entry.getValue();
+            sender.sendMessage(String.format(Locale.ROOT,
+                    "  %s: %d pending, last %d players / %d rows in %.1f ms, max %.1f ms, %d flushes, %d rows total",
+                    entry.getKey(), q.getQueueDepth(), q.getLastFlushSize(), q.getLastFlushRows(),
+                    q.getLastFlushMillis(), q.getMaxFlushMillis(), q.getFlushCount(), q.getWrittenRows()));
+        }
+    }
+
+    private static void sendPools(CommandSender sender) {
+        sender.sendMessage(String.format(Locale.ROOT, "Database executor: %d/%d running, %d queued, %d completed, %d timed out",
+                DatabaseExecutor.getRunning(), DatabaseExecutor.getConcurrency(), DatabaseExecutor.getQueued(),
+                DatabaseExecutor.getCompleted(), DatabaseExecutor.getTimedOut()));
+
+        List<PoolWaitStats> waits = QueryMetrics.getPoolWaits();
+        if (!waits.isEmpty()) {
+            sender.sendMessage("Connection wait by plugin:");
+        }
+        for (PoolWaitStats w : waits) {
+            sender.sendMessage(String.format(Locale.ROOT, "  %s: %d borrows, avg %.2f ms, max %.1f ms",
+                    w.getName(), w.getCount(), w.getAverageMillis(), w.getMaxMillis()));
+        }
+
+        for (ConnectionQuota quota : MySQLConnection.getQuotas().values()) {
+            sender.sendMessage(String.format(Locale.ROOT, "  %s quota: %d/%d in use, %d queued, %d timeouts",
+                    quota.getName(), quota.getInUse(), quota.getMaxConnections(), quota.getQueued(), quota.getTimeouts()));
+        }
+    }
+}
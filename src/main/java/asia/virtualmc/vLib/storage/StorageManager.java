@@ -1,26 +1,33 @@
 package asia.virtualmc.vLib.storage;
 
 import asia.virtualmc.vLib.Registry;
+import asia.virtualmc.vLib.storage.metrics.QueryMetrics;
 import asia.virtualmc.vLib.storage.mysql.vlib_data.PlayerIDData;
 import asia.virtualmc.vLib.storage.mysql.utilities.MySQLConnection;
+import asia.virtualmc.vLib.storage.redis.PlayerHandoff;
 import asia.virtualmc.vLib.storage.sqlite.SQLiteConnection;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
 
+import java.time.Duration;
 import java.util.Map;
 
 public class StorageManager {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(10);
     private final MySQLConnection mySQLConnection;
     private final SQLiteConnection sqLiteConnection;
     private final PlayerIDData playerIDData;
+    private final PlayerHandoff playerHandoff;
 
     public StorageManager() {
         this.mySQLConnection = new MySQLConnection();
         this.sqLiteConnection = new SQLiteConnection();
         this.playerIDData = new PlayerIDData();
+        this.playerHandoff = new PlayerHandoff();
         enable();
     }
 
     public void enable() {
+        QueryMetrics.load();
         Map<String, Boolean> modules = Registry.getModules();
         if (Boolean.TRUE.equals(modules.get("sqlite"))) {
             if (sqLiteConnection.load()) {
@@ -34,6 +41,13 @@ public class StorageManager {
                 playerIDData.create();
             }
         }
+
+        if (Boolean.TRUE.equals(modules.get("redis"))) {
+            if (playerHandoff.load()) {
+                ConsoleUtils.info("Successfully loaded Redis module!");
+            }
+        }
+        DatabaseExecutor.start(MySQLConnection.getPoolSize());
     }
 
     public void task() {
@@ -41,6 +55,8 @@ public class StorageManager {
     }
 
     public void disable() {
+        DatabaseExecutor.drain(DRAIN_TIMEOUT);
+        playerHandoff.close();
         sqLiteConnection.closeAll();
         mySQLConnection.closeAll();
     }
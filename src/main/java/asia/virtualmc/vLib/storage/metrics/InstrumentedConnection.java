@@ -0,0 +1,134 @@
+package asia.virtualmc.vLib.storage.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Dynamic proxies that time {@code execute*} calls and count affected or returned rows.
+ * Every other call is passed straight to the pooled object.
+ */
+final class InstrumentedConnection {
+
+    private InstrumentedConnection() {}
+
+    static Connection wrap(Connection conn, String owner) {
+        return proxy(Connection.class, conn, new ConnectionHandler(conn, owner));
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Integer n) return n;
+        if (result instanceof Long n) return n;
+        long sum = 0;
+        if (result instanceof int[] counts) {
+            for (int n : counts) if (n > 0) sum += n;
+        } else if (result instanceof long[] counts) {
+            for (long n : counts) if (n > 0) sum += n;
+        }
+        return sum;
+    }
+
+    private record ConnectionHandler(Connection target, String owner) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, result,
+                        new StatementHandler((Statement) result, owner, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, result,
+                        new StatementHandler((Statement) result, owner, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, result,
+                        new StatementHandler((Statement) result, owner, null));
+                default -> result;
+            };
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String owner;
+        private final String sql;
+        private final QueryStats prepared;
+
+        StatementHandler(Statement target, String owner, String sql) {
+            this.target = target;
+            this.owner = owner;
+            this.sql = sql;
+            this.prepared = (sql == null) ? null : QueryMetrics.stats(sql);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) return call(target, method, args);
+
+            // Plain statements pass their SQL to execute(); prepared ones were labelled on creation.
+            boolean inline = args != null && args.length > 0 && args[0] instanceof String;
+            String text = inline ? (String) args[0] : sql;
+            QueryStats stats = inline ? QueryMetrics.stats(text) : prepared;
+            if (stats == null) return call(target, method, args);
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = call(target, method, args);
+                failed = false;
+                if (result instanceof ResultSet rs) {
+                    return proxy(ResultSet.class, rs, new ResultSetHandler(rs, stats));
+                }
+                stats.addRows(rows(result));
+                return result;
+            } finally {
+                QueryMetrics.record(stats, owner, text, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    // Counts rows read and adds them to the query's stats when the result set is closed.
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final QueryStats stats;
+        private long rows;
+        private boolean closed;
+
+        ResultSetHandler(ResultSet target, QueryStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(target, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) rows++;
+                }
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        stats.addRows(rows);
+                    }
+                }
+                default -> {}
+            }
+            return result;
+        }
+    }
+}
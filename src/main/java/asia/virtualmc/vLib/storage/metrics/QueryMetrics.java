@@ -0,0 +1,132 @@
+package asia.virtualmc.vLib.storage.metrics;
+
+import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.utilities.files.YAMLUtils;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.dejvokep.boostedyaml.block.implementation.Section;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Latency, row count and pool wait statistics for every connection handed out by
+ * {@code MySQLConnection} and {@code SQLiteConnection}, grouped by operation and table.
+ * Statements slower than {@code storage_metrics.slow_query_ms} are logged.
+ */
+public class QueryMetrics {
+    private static final Pattern TABLE = Pattern.compile(
+            "\\b(?:FROM|INTO|UPDATE|TABLE(?:\\s+IF\\s+NOT\\s+EXISTS)?)\\s+`?([A-Za-z0-9_]+)`?",
+            Pattern.CASE_INSENSITIVE);
+    // Multi-row statements differ only in placeholder count, so the label cache stays small; cap it anyway.
+    private static final int MAX_CACHED_LABELS = 2048;
+    private static final int MAX_LOGGED_SQL = 200;
+
+    private static final Map<String, String> labels = new ConcurrentHashMap<>();
+    private static final Map<String, QueryStats> queries = new ConcurrentHashMap<>();
+    private static final Map<String, PoolWaitStats> poolWaits = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+    private static volatile long slowQueryNanos = 250_000_000L;
+
+    /**
+     * Reads the {@code storage_metrics} section of config.yml.
+     */
+    public static void load() {
+        YamlDocument yaml = YAMLUtils.getYaml(Main.getInstance(), "config.yml");
+        Section section = (yaml == null) ? null : yaml.getSection("storage_metrics");
+        if (section == null) return;
+
+        enabled = section.getBoolean("enabled", true);
+        slowQueryNanos = Math.max(0, section.getInt("slow_query_ms", 250)) * 1_000_000L;
+    }
+
+    /**
+     * Wraps a pooled connection so its statements are timed. Returns the connection unchanged when disabled.
+     *
+     * @param conn  connection borrowed from a pool
+     * @param owner name used in the slow-query log (usually the plugin name)
+     */
+    @NotNull
+    public static Connection instrument(@NotNull Connection conn, @NotNull String owner) {
+        return enabled ? InstrumentedConnection.wrap(conn, owner) : conn;
+    }
+
+    /**
+     * Records how long the owner waited for a connection from its pool.
+     */
+    public static void recordPoolWait(@NotNull String owner, long nanos) {
+        if (!enabled) return;
+        poolWaits.computeIfAbsent(owner, PoolWaitStats::new).record(nanos);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static double getSlowQueryMillis() {
+        return slowQueryNanos / 1_000_000.0;
+    }
+
+    /**
+     * Returns every recorded operation, slowest total time first.
+     */
+    @NotNull
+    public static List<QueryStats> getQueries() {
+        List<QueryStats> list = new ArrayList<>(queries.values());
+        list.sort(Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return list;
+    }
+
+    @NotNull
+    public static List<PoolWaitStats> getPoolWaits() {
+        List<PoolWaitStats> list = new ArrayList<>(poolWaits.values());
+        list.sort(Comparator.comparingDouble(PoolWaitStats::getAverageMillis).reversed());
+        return list;
+    }
+
+    public static void reset() {
+        queries.clear();
+        poolWaits.clear();
+    }
+
+    // ---------- Recording (used by InstrumentedConnection) ----------
+
+    static QueryStats stats(String sql) {
+        return queries.computeIfAbsent(label(sql), QueryStats::new);
+    }
+
+    static void record(QueryStats stats, String owner, String sql, long nanos, boolean failed) {
+        stats.record(nanos, failed);
+        if (nanos >= slowQueryNanos) {
+            String text = sql.length() > MAX_LOGGED_SQL ? sql.substring(0, MAX_LOGGED_SQL) + "..." : sql;
+            ConsoleUtils.warning("[" + owner + "]", String.format(Locale.ROOT,
+                    "Slow query (%.1f ms, %s): %s", nanos / 1_000_000.0, stats.getLabel(), text));
+        }
+    }
+
+    /**
+     * Reduces a statement to its operation and table, e.g. {@code INSERT vlib_players}.
+     */
+    static String label(String sql) {
+        String cached = labels.get(sql);
+        if (cached != null) return cached;
+
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) end++;
+        String operation = trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+
+        Matcher matcher = TABLE.matcher(trimmed);
+        String label = matcher.find() ? operation + " " + matcher.group(1) : operation;
+        if (labels.size() < MAX_CACHED_LABELS) labels.put(sql, label);
+        return label;
+    }
+}
@@ -0,0 +1,106 @@
+package asia.virtualmc.vLib.storage.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram and row count of one logical operation on one table (e.g. {@code INSERT vskills_mining_playerData}).
+ */
+public final class QueryStats {
+    // Upper bounds of the latency buckets in milliseconds; the last bucket is unbounded.
+    private static final double[] BUCKETS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private final String label;
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS_MS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    QueryStats(@NotNull String label) {
+        this.label = label;
+    }
+
+    void record(long nanos, boolean failed) {
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        if (failed) errors.incrementAndGet();
+
+        double ms = nanos / 1_000_000.0;
+        int bucket = 0;
+        while (bucket < BUCKETS_MS.length && ms > BUCKETS_MS[bucket]) bucket++;
+        histogram.incrementAndGet(bucket);
+    }
+
+    void addRows(long amount) {
+        if (amount > 0) rows.addAndGet(amount);
+    }
+
+    /**
+     * Operation and table, e.g. {@code SELECT vlib_players}.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public double getTotalMillis() {
+        return totalNanos.get() / 1_000_000.0;
+    }
+
+    public double getAverageMillis() {
+        long n = count.get();
+        return n == 0 ? 0.0 : totalNanos.get() / 1_000_000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Estimates a latency percentile from the histogram.
+     *
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, or the maximum for the last bucket
+     */
+    public double getPercentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) return 0.0;
+
+        long target = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS_MS.length; i++) {
+            seen += histogram.get(i);
+            if (seen >= target) return Math.min(BUCKETS_MS[i], getMaxMillis());
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Returns a copy of the bucket counts; bucket {@code i} holds calls up to {@link #getBucketBounds()}{@code [i]} ms.
+     */
+    public long[] getHistogram() {
+        long[] copy = new long[histogram.length()];
+        for (int i = 0; i < copy.length; i++) copy[i] = histogram.get(i);
+        return copy;
+    }
+
+    public static double[] getBucketBounds() {
+        return BUCKETS_MS.clone();
+    }
+}
@@ -12,15 +12,21 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class IntKeyDatabase {
+    // Definition table -> registered data IDs; the highest ID doubles as the definition version
+    private static final Map<String, Definitions> definitions = new ConcurrentHashMap<>();
+    private record Definitions(int version, List<Integer> ids) {}
 
     /**
-     * Creates two tables for this plugin: a definition table (<plugin>_<tableName>) and a player data table (<plugin>_<tableName>_data).
+     * Creates three tables for this plugin: a definition table (<plugin>_<tableName>), a player data table
+     * (<plugin>_<tableName>_data) and a sync table (<plugin>_<tableName>_sync) recording up to which
+     * definition each player's rows were created.
      * Ensures all entries from dataList exist in the definition table.
      *
      * @param plugin    the owning plugin (its name prefixes the tables)
@@ -33,6 +39,7 @@ public class IntKeyDatabase {
         String pluginName = plugin.getName();
         String defTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName);
         String dataTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName + "_data");
+        String syncTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName + "_sync");
 
         try (Connection conn = MySQLConnection.get(plugin)) {
 
@@ -60,6 +67,16 @@ public class IntKeyDatabase {
                             ")"
             );
 
+            // Create sync table: the highest data_id each player's rows were created for
+            conn.createStatement().execute(
+                    "CREATE TABLE IF NOT EXISTS " + syncTable + " (" +
+                            "player_id INT NOT NULL," +
+                            "def_version INT NOT NULL DEFAULT 0," +
+                            "PRIMARY KEY (player_id)," +
+                            "FOREIGN KEY (player_id) REFERENCES vlib_players(playerID) ON DELETE CASCADE" +
+                            ")"
+            );
+
             // Insert new stat types if they don't exist
             String insertQuery = "INSERT IGNORE INTO " + defTable + " (data_name) VALUES (?)";
 
@@ -70,6 +87,7 @@ public class IntKeyDatabase {
                 }
                 insertStmt.executeBatch();
             }
+            definitions.put(defTable, readDefinitions(conn, defTable));
         } catch (SQLException e) {
             ConsoleUtils.severe("[" + pluginName + "]", "Failed to create " + pluginName + " tables: " + e.getMessage());
             e.printStackTrace();
@@ -97,9 +115,10 @@ public class IntKeyDatabase {
 
         String sql = "INSERT INTO " + dataTable + " (player_id, data_id, amount) VALUES (?, ?, ?) " +
                 "ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
+        // Resolved before borrowing: PlayerIDData may need a connection of its own
+        int playerId = PlayerIDData.get(uuid);
         try (Connection conn = MySQLConnection.get(plugin)) {
             conn.setAutoCommit(false);
-            int playerId = PlayerIDData.get(uuid);
 
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
                 for (Map.Entry<Integer, Integer> entry : playerData.entrySet()) {
@@ -129,7 +148,22 @@ public class IntKeyDatabase {
      */
     public static void saveAllData(@NotNull Plugin plugin, @NotNull String tableName,
                                    @NotNull Map<UUID, Map<Integer, Integer>> allPlayerData) {
-        if (allPlayerData.isEmpty()) return;
+        saveDelta(plugin, tableName, allPlayerData);
+    }
+
+    /**
+     * Writes only the given (player_id, data_id) rows in one transaction; keys absent from a player's
+     * map are left untouched. Pass just the keys changed since the last save to avoid rewriting
+     * unchanged rows.
+     *
+     * @param plugin    the owning plugin (for connection/table prefix)
+     * @param tableName logical table name (without plugin prefix)
+     * @param changed   map of player UUID -> (data_id -> amount) of modified rows
+     * @return number of rows written, or -1 if the transaction was rolled back
+     */
+    public static int saveDelta(@NotNull Plugin plugin, @NotNull String tableName,
+                                @NotNull Map<UUID, Map<Integer, Integer>> changed) {
+        if (changed.isEmpty()) return 0;
 
         String pluginName = plugin.getName();
         String dataTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName + "_data");
@@ -137,41 +171,49 @@ public class IntKeyDatabase {
                 "VALUES (?, ?, ?) " +
                 "ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
 
-        try (Connection conn = MySQLConnection.get(plugin);
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            boolean old = conn.getAutoCommit();
-            conn.setAutoCommit(false);
-            try {
-                for (Map.Entry<UUID, Map<Integer, Integer>> playerEntry : allPlayerData.entrySet()) {
-                    int playerId = PlayerIDData.get(playerEntry.getKey());
-                    for (Map.Entry<Integer, Integer> dataEntry : playerEntry.getValue().entrySet()) {
-                        ps.setInt(1, playerId);
-                        ps.setInt(2, dataEntry.getKey());
-                        ps.setInt(3, dataEntry.getValue());
-                        ps.addBatch();
+        try {
+            Map<UUID, Integer> playerIds = PlayerIDData.getAll(changed.keySet());
+            try (Connection conn = MySQLConnection.get(plugin)) {
+                boolean old = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    int rows = 0;
+                    for (Map.Entry<UUID, Map<Integer, Integer>> playerEntry : changed.entrySet()) {
+                        int playerId = playerIds.get(playerEntry.getKey());
+                        for (Map.Entry<Integer, Integer> dataEntry : playerEntry.getValue().entrySet()) {
+                            ps.setInt(1, playerId);
+                            ps.setInt(2, dataEntry.getKey());
+                            ps.setInt(3, dataEntry.getValue());
+                            ps.addBatch();
+                            rows++;
+                        }
                     }
+                    if (rows > 0) ps.executeBatch();
+                    conn.commit();
+                    return rows;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(old);
                 }
-                ps.executeBatch();
-                conn.commit();
-            } catch (SQLException ex) {
-                conn.rollback();
-                throw ex;
-            } finally {
-                conn.setAutoCommit(old);
             }
-        } catch (SQLException e) {
+        } catch (SQLException | IllegalStateException e) {
             ConsoleUtils.severe("[" + pluginName + "]",
-                    "Failed to save all data for " + pluginName + ": " + e.getMessage());
+                    "Failed to save changed data for " + pluginName + ": " + e.getMessage());
         }
+        return -1;
     }
 
     /**
-     * Ensures missing rows for the player are created (amount=0), then loads all data_id -> amount for that player.
+     * Loads all data_id -> amount for a player. Missing rows are only created when definitions were
+     * registered since the player's last sync (tracked in the sync table); otherwise this is a single
+     * primary-key read. Definitions without a row are returned as 0.
      *
      * @param plugin    the owning plugin (for connection/table prefix)
      * @param tableName logical table name (without plugin prefix)
      * @param uuid      player UUID (resolved to internal player_id)
-     * @return a thread-safe map of data_id -> amount (0 for newly created rows)
+     * @return a thread-safe map of data_id -> amount (0 for rows that do not exist yet)
      */
     public static ConcurrentHashMap<Integer, Integer> loadPlayerData(@NotNull Plugin plugin,
                                                                      @NotNull String tableName,
@@ -180,31 +222,43 @@ public class IntKeyDatabase {
         String pluginName = plugin.getName();
         String defTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName);
         String dataTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName + "_data");
+        String syncTable = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName + "_sync");
 
-        try (Connection conn = MySQLConnection.get(plugin)) {
-            int playerId = PlayerIDData.get(uuid);
-            updateRows(conn, defTable, dataTable, playerId);
+        // data_id is AUTO_INCREMENT (>= 1), so -1 tags the sync row in the same result set
+        String loadQuery = "SELECT data_id, amount FROM " + dataTable + " WHERE player_id = ? " +
+                "UNION ALL SELECT -1, def_version FROM " + syncTable + " WHERE player_id = ?";
 
-            // Load the data after sync
-            String loadQuery = "SELECT d.data_id, dd.amount " +
-                    "FROM " + defTable + " d " +
-                    "LEFT JOIN " + dataTable + " dd ON dd.data_id = d.data_id AND dd.player_id = ?";
+        int playerId = PlayerIDData.get(uuid);
+        try (Connection conn = MySQLConnection.get(plugin)) {
+            Definitions defs = definitions.get(defTable);
+            if (defs == null) {
+                defs = readDefinitions(conn, defTable);
+                definitions.put(defTable, defs);
+            }
 
+            int syncedVersion = 0;
             try (PreparedStatement ps = conn.prepareStatement(loadQuery)) {
                 ps.setInt(1, playerId);
+                ps.setInt(2, playerId);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
                         int dataId = rs.getInt("data_id");
                         int amount = rs.getInt("amount");
-                        if (!rs.wasNull()) {
-                            playerDataMap.put(dataId, amount);
+                        if (dataId == -1) {
+                            syncedVersion = amount;
                         } else {
-                            // left join can return null amount on brand-new rows; treat as 0
-                            playerDataMap.put(dataId, 0);
+                            playerDataMap.put(dataId, rs.wasNull() ? 0 : amount);
                         }
                     }
                 }
             }
+
+            if (syncedVersion < defs.version()) {
+                updateRows(conn, defTable, dataTable, syncTable, playerId, defs.version());
+            }
+            for (int dataId : defs.ids()) {
+                playerDataMap.putIfAbsent(dataId, 0);
+            }
         } catch (SQLException e) {
             ConsoleUtils.severe("[" + pluginName + "]",
                     "Failed to load data from " + pluginName + " for player " + uuid + ": " + e.getMessage());
@@ -215,18 +269,40 @@ public class IntKeyDatabase {
 
     /**
      * WARNING (@Internal): Library-use only; not for public API consumers.
-     * Inserts missing (player_id, data_id) rows with amount=0 based on the definition table.
+     * Reads the registered data IDs of a definition table in ascending order.
+     */
+    @Internal
+    private static Definitions readDefinitions(@NotNull Connection conn,
+                                               @NotNull String definitionTable) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT data_id FROM " + definitionTable + " ORDER BY data_id");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt("data_id"));
+            }
+        }
+        return new Definitions(ids.isEmpty() ? 0 : ids.get(ids.size() - 1), List.copyOf(ids));
+    }
+
+    /**
+     * WARNING (@Internal): Library-use only; not for public API consumers.
+     * Inserts missing (player_id, data_id) rows with amount=0 based on the definition table,
+     * then records the definition version the player is now synced to.
      *
      * @param conn            open SQL connection (transaction is handled inside)
      * @param definitionTable fully qualified definition table name
      * @param dataTable       fully qualified player data table name
+     * @param syncTable       fully qualified sync table name
      * @param playerId        internal numeric player id
+     * @param version         definition version (highest data_id) to record
      */
     @Internal
     private static void updateRows(@NotNull Connection conn,
                                    @NotNull String definitionTable,
                                    @NotNull String dataTable,
-                                   int playerId) throws SQLException {
+                                   @NotNull String syncTable,
+                                   int playerId, int version) throws SQLException {
 
         String insertMissing = "INSERT INTO " + dataTable + " (player_id, data_id, amount) " +
                 "SELECT ?, d.data_id, 0 " +
@@ -235,12 +311,19 @@ public class IntKeyDatabase {
                 "  ON dd.player_id = ? AND dd.data_id = d.data_id " +
                 "WHERE dd.player_id IS NULL";
 
+        String markSynced = "INSERT INTO " + syncTable + " (player_id, def_version) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE def_version = GREATEST(def_version, VALUES(def_version))";
+
         boolean old = conn.getAutoCommit();
         conn.setAutoCommit(false);
-        try (PreparedStatement ps = conn.prepareStatement(insertMissing)) {
+        try (PreparedStatement ps = conn.prepareStatement(insertMissing);
+             PreparedStatement mark = conn.prepareStatement(markSynced)) {
             ps.setInt(1, playerId);
             ps.setInt(2, playerId);
             ps.executeUpdate();
+            mark.setInt(1, playerId);
+            mark.setInt(2, version);
+            mark.executeUpdate();
             conn.commit();
         } catch (SQLException e) {
             conn.rollback();
@@ -3,22 +3,33 @@ package asia.virtualmc.vLib.storage.mysql.misc;
 import asia.virtualmc.vLib.storage.mysql.utilities.MySQLConnection;
 import asia.virtualmc.vLib.storage.mysql.utilities.MySQLUtils;
 import asia.virtualmc.vLib.storage.mysql.vlib_data.PlayerIDData;
+import asia.virtualmc.vLib.utilities.annotations.Internal;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
 import asia.virtualmc.vLib.utilities.text.StringSetUtils;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class StringKeyDatabase {
+    private static final int TOTALS_CHUNK_SIZE = 1000;
+    private static final int FLUSH_RETENTION_DAYS = 7;
+    // Flush tables created (and pruned) since startup, by quoted name
+    private static final Set<String> flushTables = ConcurrentHashMap.newKeySet();
 
     /**
      * Creates the per-plugin table `<pluginName>_<tableName>` with (player_id, data_name) as a composite PK.
@@ -70,10 +81,11 @@ public class StringKeyDatabase {
 
         String sql = "INSERT INTO " + fullTableName + " (player_id, data_name, amount) VALUES (?, ?, ?) " +
                 "ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
+        // Resolved before borrowing: PlayerIDData may need a connection of its own
+        int playerId = PlayerIDData.get(uuid);
         try (Connection conn = MySQLConnection.get(plugin)) {
             boolean old = conn.getAutoCommit();
             conn.setAutoCommit(false);
-            int playerId = PlayerIDData.get(uuid);
 
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
                 for (Map.Entry<String, Integer> entry : playerData.entrySet()) {
@@ -107,7 +119,23 @@ public class StringKeyDatabase {
     public static void saveAllData(@NotNull Plugin plugin,
                                    @NotNull String tableName,
                                    @NotNull Map<UUID, Map<String, Integer>> allPlayerData) {
-        if (allPlayerData.isEmpty()) return;
+        saveDelta(plugin, tableName, allPlayerData);
+    }
+
+    /**
+     * Writes only the given (player_id, data_name) rows in one transaction; keys absent from a player's
+     * map are left untouched. Pass just the keys changed since the last save to avoid rewriting
+     * unchanged rows.
+     *
+     * @param plugin    the owning plugin (used for connection and table prefix)
+     * @param tableName the logical table suffix (without plugin prefix)
+     * @param changed   map of player UUID -> (data_name -> amount) of modified rows
+     * @return number of rows written, or -1 if the transaction was rolled back
+     */
+    public static int saveDelta(@NotNull Plugin plugin,
+                                @NotNull String tableName,
+                                @NotNull Map<UUID, Map<String, Integer>> changed) {
+        if (changed.isEmpty()) return 0;
 
         String pluginName = plugin.getName();
         String fullTableName = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName);
@@ -115,31 +143,213 @@ public class StringKeyDatabase {
                 "VALUES (?, ?, ?) " +
                 "ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
 
-        try (Connection conn = MySQLConnection.get(plugin)) {
-            boolean old = conn.getAutoCommit();
-            conn.setAutoCommit(false);
+        try {
+            Map<UUID, Integer> playerIds = PlayerIDData.getAll(changed.keySet());
+            try (Connection conn = MySQLConnection.get(plugin)) {
+                boolean old = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    int rows = 0;
+                    for (Map.Entry<UUID, Map<String, Integer>> playerEntry : changed.entrySet()) {
+                        int playerId = playerIds.get(playerEntry.getKey());
+                        for (Map.Entry<String, Integer> dataEntry : playerEntry.getValue().entrySet()) {
+                            ps.setInt(1, playerId);
+                            ps.setString(2, dataEntry.getKey());
+                            ps.setInt(3, dataEntry.getValue());
+                            ps.addBatch();
+                            rows++;
+                        }
+                    }
+                    if (rows > 0) ps.executeBatch();
+                    conn.commit();
+                    return rows;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(old);
+                }
+            }
+        } catch (SQLException | IllegalStateException e) {
+            ConsoleUtils.severe("[" + pluginName + "]",
+                    "Failed to save changed data for " + pluginName + ": " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Adds per-key deltas to the stored amounts instead of overwriting them, so several servers can
+     * update the same player's counters concurrently. Totals are clamped at 0 (the column is unsigned).
+     * Rows are written in (player_id, data_name) order to keep lock order consistent across servers,
+     * and the resulting totals are read back in the same transaction.
+     * <p>
+     * The flush id is recorded in the same transaction, in `<pluginName>_<tableName>_flushes`, which is
+     * created on first use. If it was already recorded, the deltas were applied by an earlier attempt whose
+     * outcome was unknown, and only the totals are read.
+     *
+     * @param plugin    the owning plugin (used for connection and table prefix)
+     * @param tableName the logical table suffix (without plugin prefix)
+     * @param flushId   id of this batch; pass the same id when retrying the same deltas
+     * @param deltas    map of player UUID -> (data_name -> amount to add, may be negative)
+     * @return map of player UUID -> (data_name -> stored total) for the written keys,
+     *         or null if the transaction was rolled back
+     */
+    @Nullable
+    public static Map<UUID, Map<String, Integer>> addDelta(@NotNull Plugin plugin,
+                                                          @NotNull String tableName,
+                                                          @NotNull UUID flushId,
+                                                          @NotNull Map<UUID, Map<String, Integer>> deltas) {
+        Map<UUID, Map<String, Integer>> totals = new HashMap<>();
+        if (deltas.isEmpty()) return totals;
+
+        String pluginName = plugin.getName();
+        String fullTableName = MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName);
+        String sql = "INSERT INTO " + fullTableName + " (player_id, data_name, amount) " +
+                "VALUES (?, ?, GREATEST(?, 0)) " +
+                "ON DUPLICATE KEY UPDATE amount = GREATEST(CAST(amount AS SIGNED) + ?, 0)";
+
+        try {
+            Map<UUID, Integer> playerIds = PlayerIDData.getAll(deltas.keySet());
+            Map<Integer, UUID> players = new TreeMap<>();
+            playerIds.forEach((uuid, id) -> players.put(id, uuid));
+
+            try (Connection conn = MySQLConnection.get(plugin)) {
+                String flushTable = prepareFlushTable(conn, pluginName, tableName);
+                boolean old = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try (PreparedStatement claim = conn.prepareStatement(
+                        "INSERT IGNORE INTO " + flushTable + " (flush_id) VALUES (?)");
+                     PreparedStatement ps = conn.prepareStatement(sql)) {
+                    claim.setString(1, flushId.toString());
+                    if (claim.executeUpdate() == 0) {
+                        readTotals(conn, fullTableName, players, deltas, totals);
+                        conn.commit();
+                        return totals;
+                    }
+
+                    for (Map.Entry<Integer, UUID> player : players.entrySet()) {
+                        for (Map.Entry<String, Integer> dataEntry : new TreeMap<>(deltas.get(player.getValue())).entrySet()) {
+                            ps.setInt(1, player.getKey());
+                            ps.setString(2, dataEntry.getKey());
+                            ps.setInt(3, dataEntry.getValue());
+                            ps.setInt(4, dataEntry.getValue());
+                            ps.addBatch();
+                        }
+                    }
+                    ps.executeBatch();
+                    readTotals(conn, fullTableName, players, deltas, totals);
+                    conn.commit();
+                    return totals;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(old);
+                }
+            }
+        } catch (SQLException | IllegalStateException e) {
+            ConsoleUtils.severe("[" + pluginName + "]",
+                    "Failed to add data for " + pluginName + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * WARNING (@Internal): Library-use only; not for public API consumers.
+     * Returns the quoted name of the table recording applied additive batches.
+     */
+    @Internal
+    private static String flushTable(@NotNull String pluginName, @NotNull String tableName) {
+        return MySQLUtils.toSafeIdentifer(pluginName + "_" + tableName + "_flushes");
+    }
+
+    /**
+     * WARNING (@Internal): Library-use only; not for public API consumers.
+     * Creates the flush table on its first use since startup and prunes batch ids older than
+     * {@value #FLUSH_RETENTION_DAYS} days. Runs outside the caller's transaction, since DDL commits implicitly.
+     *
+     * @return the quoted flush table name
+     */
+    @Internal
+    private static String prepareFlushTable(Connection conn, String pluginName, String tableName) throws SQLException {
+        String flushTable = flushTable(pluginName, tableName);
+        if (flushTables.contains(flushTable)) return flushTable;
+
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(
+                    "CREATE TABLE IF NOT EXISTS " + flushTable + " (" +
+                            "flush_id CHAR(36) NOT NULL PRIMARY KEY," +
+                            "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                            ")"
+            );
+            statement.execute(
+                    "DELETE FROM " + flushTable + " WHERE applied_at < NOW() - INTERVAL " + FLUSH_RETENTION_DAYS + " DAY"
+            );
+        }
+        flushTables.add(flushTable);
+        return flushTable;
+    }
+
+    /**
+     * WARNING (@Internal): Library-use only; not for public API consumers.
+     * Reads the current totals of the written keys, {@value #TOTALS_CHUNK_SIZE} players per query.
+     */
+    @Internal
+    private static void readTotals(@NotNull Connection conn, @NotNull String fullTableName,
+                                   @NotNull Map<Integer, UUID> players,
+                                   @NotNull Map<UUID, Map<String, Integer>> deltas,
+                                   @NotNull Map<UUID, Map<String, Integer>> totals) throws SQLException {
+        List<Integer> ids = new ArrayList<>(players.keySet());
+        for (int start = 0; start < ids.size(); start += TOTALS_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + TOTALS_CHUNK_SIZE, ids.size()));
+            String sql = "SELECT player_id, data_name, amount FROM " + fullTableName +
+                    " WHERE player_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                for (var playerEntry : allPlayerData.entrySet()) {
-                    int playerId = PlayerIDData.get(playerEntry.getKey());
-                    for (var dataEntry : playerEntry.getValue().entrySet()) {
-                        ps.setInt(1, playerId);
-                        ps.setString(2, dataEntry.getKey());
-                        ps.setInt(3, dataEntry.getValue());
-                        ps.addBatch();
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        UUID uuid = players.get(rs.getInt("player_id"));
+                        String name = rs.getString("data_name");
+                        if (!deltas.get(uuid).containsKey(name)) continue;
+                        totals.computeIfAbsent(uuid, k -> new HashMap<>()).put(name, rs.getInt("amount"));
                     }
                 }
-                ps.executeBatch();
-                conn.commit();
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            } finally {
-                conn.setAutoCommit(old);
+            }
+        }
+    }
+
+    /**
+     * Reads all stored (data_name -> amount) of a player without creating anything, e.g. for offline lookups.
+     * Unlike {@link #loadPlayerData}, no {@code vlib_players} row is inserted for unknown players.
+     *
+     * @param plugin    the owning plugin (used for connection and table prefix)
+     * @param tableName the logical table suffix (without plugin prefix)
+     * @param uuid      the player's UUID
+     * @return map of data_name -> amount; empty if the player has no rows
+     * @throws IllegalStateException if the query failed
+     */
+    @NotNull
+    public static Map<String, Integer> findPlayerData(@NotNull Plugin plugin,
+                                                      @NotNull String tableName,
+                                                      @NotNull UUID uuid) {
+        String fullTableName = MySQLUtils.toSafeIdentifer(plugin.getName() + "_" + tableName);
+        String sql = "SELECT d.data_name, d.amount FROM " + fullTableName + " d " +
+                "JOIN vlib_players p ON p.playerID = d.player_id WHERE p.uuid = ?";
+        Map<String, Integer> result = new HashMap<>();
+        try (Connection conn = MySQLConnection.get(plugin);
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, uuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.put(rs.getString("data_name"), rs.getInt("amount"));
+                }
             }
         } catch (SQLException e) {
-            ConsoleUtils.severe("[" + pluginName + "]",
-                    "Failed to save all data for " + pluginName + ": " + e.getMessage());
+            throw new IllegalStateException("Failed to read data for player " + uuid + ": " + e.getMessage(), e);
         }
+        return result;
     }
 
     /**
@@ -163,10 +373,9 @@ public class StringKeyDatabase {
         Set<String> sortedData = StringSetUtils.sortedSet(dataNames);
 
         String sql = "SELECT data_name, amount FROM " + fullTableName + " WHERE player_id = ?";
+        int playerId = PlayerIDData.get(uuid);
         try (Connection conn = MySQLConnection.get(plugin);
              PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            int playerId = PlayerIDData.get(uuid);
             ps.setInt(1, playerId);
 
             try (ResultSet rs = ps.executeQuery()) {
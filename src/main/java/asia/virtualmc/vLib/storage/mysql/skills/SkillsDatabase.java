@@ -1,20 +1,29 @@
 package asia.virtualmc.vLib.storage.mysql.skills;
 
+import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.storage.mysql.utilities.MySQLUtils;
 import asia.virtualmc.vLib.storage.mysql.vlib_data.PlayerIDData;
 import asia.virtualmc.vLib.storage.mysql.utilities.MySQLConnection;
 import asia.virtualmc.vLib.utilities.annotations.Internal;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public class SkillsDatabase {
+    public static final int DEFAULT_CHUNK_SIZE = 500;
 
     /**
      * Container class representing all player-related skill stats used by the plugin.
@@ -55,47 +64,38 @@ public class SkillsDatabase {
      * Inserts a new player record into the database with default values for all skill attributes.
      * <p>
      * This method is called only when a player doesn't yet have a corresponding row in the skill table.
+     * Runs on the caller's connection, so loading a new player never holds two pooled connections.
      *
-     * @param uuid       The player's UUID.
+     * @param conn       The connection the caller already holds.
+     * @param playerID   The player's internal ID.
      * @param name       The player's name.
-     * @param plugin     The plugin used to identify the target table.
+     * @param pluginName The plugin name used to identify the target table.
      * @apiNote Only for internal use by the library.
      */
     @Internal
-    private static void createNewPlayerData(@NotNull UUID uuid, String name, Plugin plugin) {
-        Integer playerID = PlayerIDData.get(uuid);
-        String pluginName = plugin.getName();
-
+    private static void createNewPlayerData(@NotNull Connection conn, int playerID, String name,
+                                            String pluginName) throws SQLException {
         String insertQuery =
-                "INSERT INTO " + pluginName + "_playerData" +
+                "INSERT IGNORE INTO " + pluginName + "_playerData" +
                         " (playerID, playerName, playerEXP, playerBXP, playerXPM, " +
                         "playerLevel, playerLuck, traitPoints, talentPoints, wisdomTrait, " +
                         "charismaTrait, karmaTrait, dexterityTrait) " +
                         "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = MySQLConnection.get(plugin)) {
-            conn.setAutoCommit(false);
-            try (PreparedStatement ps = conn.prepareStatement(insertQuery)) {
-                ps.setInt(1, playerID);
-                ps.setString(2, name);
-                ps.setDouble(3, 0.0);
-                ps.setDouble(4, 0.0);
-                ps.setDouble(5, 1.0);
-                ps.setInt(6, 1);
-                ps.setInt(7, 0);
-                ps.setInt(8, 1);
-                ps.setInt(9, 0);
-                ps.setInt(10, 0);
-                ps.setInt(11, 0);
-                ps.setInt(12, 0);
-                ps.setInt(13, 0);
-                ps.executeUpdate();
-                conn.commit();
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
-        } catch (SQLException e) {
-            ConsoleUtils.severe("[" + pluginName + "]", "Failed to create data for " + name + ": " + e.getMessage());
+        try (PreparedStatement ps = conn.prepareStatement(insertQuery)) {
+            ps.setInt(1, playerID);
+            ps.setString(2, name);
+            ps.setDouble(3, 0.0);
+            ps.setDouble(4, 0.0);
+            ps.setDouble(5, 1.0);
+            ps.setInt(6, 1);
+            ps.setInt(7, 0);
+            ps.setInt(8, 1);
+            ps.setInt(9, 0);
+            ps.setInt(10, 0);
+            ps.setInt(11, 0);
+            ps.setInt(12, 0);
+            ps.setInt(13, 0);
+            ps.executeUpdate();
         }
     }
 
@@ -133,7 +133,7 @@ public class SkillsDatabase {
 
     /**
      * Saves or updates the full set of skill-related data for the specified player.
-     * If no row exists for the player, a new one will be created.
+     * If no row exists for the player, a new one will be created in the same statement.
      *
      */
     public static void savePlayerData(
@@ -154,106 +154,171 @@ public class SkillsDatabase {
     ) {
         String pluginName = plugin.getName();
         Integer playerID = PlayerIDData.get(uuid);
-        String updateQuery = "UPDATE " + pluginName + "_playerData SET " +
-                "playerName = ?, playerEXP = ?, playerBXP = ?, " +
-                "playerXPM = ?, playerLevel = ?, playerLuck = ?, " +
-                "traitPoints = ?, talentPoints = ?, wisdomTrait = ?, " +
-                "charismaTrait = ?, karmaTrait = ?, dexterityTrait = ?, " +
-                "lastUpdated = CURRENT_TIMESTAMP " +
-                "WHERE playerID = ?";
+        PlayerStats stats = new PlayerStats(name, exp, bxp, xpm, level, luck, traitPoints, talentPoints,
+                wisdom, charisma, karma, dexterity);
 
         try (Connection conn = MySQLConnection.get(plugin);
-             PreparedStatement ps = conn.prepareStatement(updateQuery)) {
-
-            ps.setString(1, name);
-            ps.setDouble(2, exp);
-            ps.setDouble(3, bxp);
-            ps.setDouble(4, xpm);
-            ps.setInt(5, level);
-            ps.setInt(6, luck);
-            ps.setInt(7, traitPoints);
-            ps.setInt(8, talentPoints);
-            ps.setInt(9, wisdom);
-            ps.setInt(10, charisma);
-            ps.setInt(11, karma);
-            ps.setInt(12, dexterity);
-            ps.setInt(13, playerID);
-
-            int rowsAffected = ps.executeUpdate();
-            if (rowsAffected == 0) {
-                // If no rows were updated, the player's data row doesn't exist yet.
-                createNewPlayerData(uuid, name, plugin);
-            }
-
+             PreparedStatement ps = conn.prepareStatement(upsertQuery(pluginName + "_playerData", 1))) {
+            setUpsertParams(ps, 1, playerID, stats);
+            ps.executeUpdate();
         } catch (SQLException e) {
             ConsoleUtils.severe("[" + pluginName + "]", "Failed to save " + name + " data on database: " + e.getMessage());
         }
     }
 
     /**
-     * Saves skill data for all players in bulk using batch update statements.
+     * Saves skill data for all players in bulk, {@code mysql.chunk_size} players per statement.
      *
      * @param plugin         The plugin instance.
      * @param playerDataMap  A map of player UUIDs to their corresponding {@link PlayerStats}.
+     * @return number of players written, or -1 if the save failed
      */
-    public static void saveAllData(@NotNull Plugin plugin,
-                                   @NotNull Map<UUID, PlayerStats> playerDataMap
+    public static int saveAllData(@NotNull Plugin plugin,
+                                  @NotNull Map<UUID, PlayerStats> playerDataMap
+    ) {
+        return saveAllData(plugin, playerDataMap, chunkSize());
+    }
+
+    /**
+     * Saves skill data for all players in one transaction using multi-row
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE} statements. Missing rows are created.
+     *
+     * @param plugin         The plugin instance.
+     * @param playerDataMap  A map of player UUIDs to their corresponding {@link PlayerStats}.
+     * @param chunkSize      Maximum number of players packed into one statement.
+     * @return number of players written, or -1 if the save failed
+     */
+    public static int saveAllData(@NotNull Plugin plugin,
+                                  @NotNull Map<UUID, PlayerStats> playerDataMap,
+                                  int chunkSize
     ) {
         if (playerDataMap.isEmpty()) {
-            return;
+            return 0;
         }
 
         String pluginName = plugin.getName();
-        String updateQuery = "UPDATE " + pluginName + "_playerData SET " +
-                "playerName = ?, playerEXP = ?, playerBXP = ?, " +
-                "playerXPM = ?, playerLevel = ?, playerLuck = ?, " +
-                "traitPoints = ?, talentPoints = ?, wisdomTrait = ?, " +
-                "charismaTrait = ?, karmaTrait = ?, dexterityTrait = ?, " +
-                "lastUpdated = CURRENT_TIMESTAMP " +
-                "WHERE playerID = ?";
+        Map<UUID, Integer> playerIDs = PlayerIDData.getAll(playerDataMap.keySet());
 
-        try (Connection conn = MySQLConnection.get(plugin);
-             PreparedStatement ps = conn.prepareStatement(updateQuery)) {
+        try (Connection conn = MySQLConnection.get(plugin)) {
+            boolean old = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int written = upsertAll(conn, pluginName + "_playerData", playerDataMap, playerIDs, chunkSize);
+                conn.commit();
+                return written;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(old);
+            }
+        } catch (SQLException e) {
+            ConsoleUtils.severe("[" + pluginName + "]", "Failed to save all player data: " + e.getMessage());
+        }
+
+        return -1;
+    }
+
+    /**
+     * Saves skill data of several plugins in one transaction on a single connection.
+     * Nothing is committed if any table fails.
+     *
+     * @param allData map of plugin name -> (player UUID -> {@link PlayerStats})
+     * @return map of plugin name -> number of rows written, or null if the transaction was rolled back
+     */
+    @Nullable
+    public static Map<String, Integer> saveAllSkills(@NotNull Map<String, Map<UUID, PlayerStats>> allData) {
+        Map<String, Integer> written = new HashMap<>();
+        if (allData.isEmpty()) return written;
+
+        Set<UUID> players = new HashSet<>();
+        for (Map<UUID, PlayerStats> table : allData.values()) {
+            players.addAll(table.keySet());
+        }
+        Map<UUID, Integer> playerIDs = PlayerIDData.getAll(players);
 
+        try (Connection conn = MySQLConnection.get(Main.getInstance())) {
+            boolean old = conn.getAutoCommit();
             conn.setAutoCommit(false);
-            int batchSize = 0;
-
-            for (Map.Entry<UUID, PlayerStats> entry : playerDataMap.entrySet()) {
-                UUID uuid = entry.getKey();
-                PlayerStats stats = entry.getValue();
-                Integer playerID = PlayerIDData.get(uuid);
-
-                ps.setString(1, stats.name);
-                ps.setDouble(2, stats.exp);
-                ps.setDouble(3, stats.bxp);
-                ps.setDouble(4, stats.xpm);
-                ps.setInt(5, stats.level);
-                ps.setInt(6, stats.luck);
-                ps.setInt(7, stats.traitPoints);
-                ps.setInt(8, stats.talentPoints);
-                ps.setInt(9, stats.wisdomTrait);
-                ps.setInt(10, stats.charismaTrait);
-                ps.setInt(11, stats.karmaTrait);
-                ps.setInt(12, stats.dexterityTrait);
-                ps.setInt(13, playerID);
-
-                ps.addBatch();
-                batchSize++;
-
-                if (batchSize % 100 == 0) {
-                    ps.executeBatch();
-                    conn.commit();
+            try {
+                int chunkSize = chunkSize();
+                for (Map.Entry<String, Map<UUID, PlayerStats>> table : allData.entrySet()) {
+                    written.put(table.getKey(),
+                            upsertAll(conn, table.getKey() + "_playerData", table.getValue(), playerIDs, chunkSize));
                 }
+                conn.commit();
+                return written;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(old);
             }
+        } catch (SQLException e) {
+            ConsoleUtils.severe("Failed to save skills data of " + allData.keySet() + ": " + e.getMessage());
+        }
 
-            if (batchSize % 100 != 0) {
-                ps.executeBatch();
-                conn.commit();
+        return null;
+    }
+
+    /**
+     * Loads one player's row from several plugins' skill tables with a single UNION ALL query.
+     * Tables without a row for the player get a default row inserted, which is returned as well.
+     * If another server created that row in the meantime, the table is left out of the result
+     * so the caller loads it on its own.
+     *
+     * @param pluginNames plugins whose {@code <pluginName>_playerData} tables are read
+     * @param uuid        UUID of the player
+     * @return map of plugin name -> {@link PlayerStats}; empty if the query failed
+     */
+    @NotNull
+    public static Map<String, PlayerStats> loadAllSkills(@NotNull List<String> pluginNames, @NotNull UUID uuid) {
+        Map<String, PlayerStats> result = new HashMap<>();
+        if (pluginNames.isEmpty()) return result;
+
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < pluginNames.size(); i++) {
+            if (i > 0) query.append(" UNION ALL ");
+            query.append("SELECT ").append(i).append(" AS skillIndex, playerName, playerEXP, playerBXP, playerXPM, ")
+                    .append("playerLevel, playerLuck, traitPoints, talentPoints, wisdomTrait, charismaTrait, ")
+                    .append("karmaTrait, dexterityTrait FROM ")
+                    .append(MySQLUtils.toSafeIdentifer(pluginNames.get(i) + "_playerData"))
+                    .append(" WHERE playerID = ?");
+        }
+
+        Integer playerID = PlayerIDData.get(uuid);
+        try (Connection conn = MySQLConnection.get(Main.getInstance())) {
+            try (PreparedStatement ps = conn.prepareStatement(query.toString())) {
+                for (int i = 1; i <= pluginNames.size(); i++) {
+                    ps.setInt(i, playerID);
+                }
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        result.put(pluginNames.get(rs.getInt("skillIndex")), readStats(rs));
+                    }
+                }
             }
 
+            // First join for some skills: create their rows with table defaults.
+            for (String pluginName : pluginNames) {
+                if (result.containsKey(pluginName)) continue;
+
+                String insertQuery = "INSERT IGNORE INTO " + MySQLUtils.toSafeIdentifer(pluginName + "_playerData") +
+                        " (playerID, playerName) VALUES (?, ?)";
+                try (PreparedStatement ps = conn.prepareStatement(insertQuery)) {
+                    ps.setInt(1, playerID);
+                    ps.setString(2, "Unknown");
+                    if (ps.executeUpdate() == 0) continue;
+                }
+                result.put(pluginName, new PlayerStats("Unknown", 0.0, 0.0, 1.0, 1, 0, 1, 0, 0, 0, 0, 0));
+            }
         } catch (SQLException e) {
-            ConsoleUtils.severe("[" + pluginName + "]", "Failed to save all player data: " + e.getMessage());
+            ConsoleUtils.severe("Failed to load skills data of " + pluginNames + " for player " + uuid + ": " + e.getMessage());
+            result.clear();
         }
+
+        return result;
     }
 
     /**
@@ -294,7 +359,7 @@ public class SkillsDatabase {
             }
 
             // If no record is found, create one and try again.
-            createNewPlayerData(uuid, "Unknown", plugin);
+            createNewPlayerData(conn, playerID, "Unknown", pluginName);
 
             // Try loading again.
             try (ResultSet rs = ps.executeQuery()) {
@@ -321,4 +386,170 @@ public class SkillsDatabase {
 
         return new PlayerStats("Unknown", 0.0, 0.0, 1.0, 1, 0, 1, 0, 0, 0, 0, 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the player's skill data without creating anything, e.g. for offline lookups.
+     * Unlike {@link #loadPlayerData(Plugin, UUID)}, no {@code vlib_players} or default row is inserted.
+     *
+     * @param plugin The plugin that owns the skill table.
+     * @param uuid   UUID of the player.
+     * @return the stored {@link PlayerStats}, or null if the player has no row.
+     * @throws IllegalStateException if the query failed.
+     */
+    @Nullable
+    public static PlayerStats findPlayerData(@NotNull Plugin plugin, @NotNull UUID uuid) {
+        String pluginName = plugin.getName();
+        String selectQuery = "SELECT d.* FROM " + MySQLUtils.toSafeIdentifer(pluginName + "_playerData") + " d " +
+                "JOIN vlib_players p ON p.playerID = d.playerID WHERE p.uuid = ?";
+        try (Connection conn = MySQLConnection.get(plugin);
+             PreparedStatement ps = conn.prepareStatement(selectQuery)) {
+            ps.setString(1, uuid.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? readStats(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read data for player " + uuid + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads every player's skill data of this plugin, keyed by UUID through {@code vlib_players}.
+     * Used to build in-memory indexes such as leaderboards; avoid calling it per request.
+     *
+     * @param plugin The plugin that owns the skill table.
+     * @return map of player UUID -> {@link PlayerStats}; empty if the query failed
+     */
+    @NotNull
+    public static Map<UUID, PlayerStats> loadAllPlayerData(@NotNull Plugin plugin) {
+        Map<UUID, PlayerStats> result = new HashMap<>();
+        String pluginName = plugin.getName();
+
+        String selectQuery = "SELECT p.uuid, d.* FROM " + pluginName + "_playerData d " +
+                "JOIN vlib_players p ON p.playerID = d.playerID";
+        try (Connection conn = MySQLConnection.get(plugin);
+             PreparedStatement ps = conn.prepareStatement(selectQuery)) {
+            ps.setFetchSize(1000);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    result.put(UUID.fromString(rs.getString("uuid")), readStats(rs));
+                }
+            }
+        } catch (SQLException e) {
+            ConsoleUtils.severe("[" + pluginName + "]", "Failed to load all player data: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the skill columns of the current row.
+     */
+    @Internal
+    private static PlayerStats readStats(ResultSet rs) throws SQLException {
+        return new PlayerStats(
+                rs.getString("playerName"),
+                rs.getDouble("playerEXP"),
+                rs.getDouble("playerBXP"),
+                rs.getDouble("playerXPM"),
+                rs.getInt("playerLevel"),
+                rs.getInt("playerLuck"),
+                rs.getInt("traitPoints"),
+                rs.getInt("talentPoints"),
+                rs.getInt("wisdomTrait"),
+                rs.getInt("charismaTrait"),
+                rs.getInt("karmaTrait"),
+                rs.getInt("dexterityTrait")
+        );
+    }
+
+    @Internal
+    private static int chunkSize() {
+        int size = MySQLConnection.getChunkSize();
+        return size > 0 ? size : DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Writes every entry with multi-row upserts of at most {@code chunkSize} rows each.
+     * Runs inside the caller's transaction.
+     *
+     * @return number of players written
+     */
+    @Internal
+    private static int upsertAll(Connection conn, String table, Map<UUID, PlayerStats> data,
+                                 Map<UUID, Integer> playerIDs, int chunkSize) throws SQLException {
+        if (data.isEmpty()) return 0;
+        int chunk = Math.max(1, chunkSize);
+
+        List<Map.Entry<UUID, PlayerStats>> rows = new ArrayList<>(data.entrySet());
+        String fullQuery = null;
+        int written = 0;
+        for (int start = 0; start < rows.size(); start += chunk) {
+            int size = Math.min(chunk, rows.size() - start);
+            String query;
+            if (size == chunk) {
+                if (fullQuery == null) fullQuery = upsertQuery(table, chunk);
+                query = fullQuery;
+            } else {
+                query = upsertQuery(table, size);
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(query)) {
+                int index = 1;
+                for (int i = start; i < start + size; i++) {
+                    Map.Entry<UUID, PlayerStats> row = rows.get(i);
+                    index = setUpsertParams(ps, index, playerIDs.get(row.getKey()), row.getValue());
+                }
+                ps.executeUpdate();
+            }
+            written += size;
+        }
+        return written;
+    }
+
+    /**
+     * Builds an {@code INSERT ... ON DUPLICATE KEY UPDATE} statement with the given number of value rows.
+     */
+    @Internal
+    private static String upsertQuery(String table, int rows) {
+        StringBuilder query = new StringBuilder(256 + rows * 44);
+        query.append("INSERT INTO ").append(MySQLUtils.toSafeIdentifer(table))
+                .append(" (playerID, playerName, playerEXP, playerBXP, playerXPM, playerLevel, playerLuck, ")
+                .append("traitPoints, talentPoints, wisdomTrait, charismaTrait, karmaTrait, dexterityTrait) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) query.append(", ");
+            query.append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        query.append(" ON DUPLICATE KEY UPDATE ")
+                .append("playerName = VALUES(playerName), playerEXP = VALUES(playerEXP), ")
+                .append("playerBXP = VALUES(playerBXP), playerXPM = VALUES(playerXPM), ")
+                .append("playerLevel = VALUES(playerLevel), playerLuck = VALUES(playerLuck), ")
+                .append("traitPoints = VALUES(traitPoints), talentPoints = VALUES(talentPoints), ")
+                .append("wisdomTrait = VALUES(wisdomTrait), charismaTrait = VALUES(charismaTrait), ")
+                .append("karmaTrait = VALUES(karmaTrait), dexterityTrait = VALUES(dexterityTrait), ")
+                .append("lastUpdated = CURRENT_TIMESTAMP");
+        return query.toString();
+    }
+
+    /**
+     * Binds one value row of the upsert statement starting at {@code index}.
+     *
+     * @return the next free parameter index
+     */
+    @Internal
+    private static int setUpsertParams(PreparedStatement ps, int index, int playerID, PlayerStats stats) throws SQLException {
+        ps.setInt(index++, playerID);
+        ps.setString(index++, stats.name);
+        ps.setDouble(index++, stats.exp);
+        ps.setDouble(index++, stats.bxp);
+        ps.setDouble(index++, stats.xpm);
+        ps.setInt(index++, stats.level);
+        ps.setInt(index++, stats.luck);
+        ps.setInt(index++, stats.traitPoints);
+        ps.setInt(index++, stats.talentPoints);
+        ps.setInt(index++, stats.wisdomTrait);
+        ps.setInt(index++, stats.charismaTrait);
+        ps.setInt(index++, stats.karmaTrait);
+        ps.setInt(index++, stats.dexterityTrait);
+        return index;
+    }
+}
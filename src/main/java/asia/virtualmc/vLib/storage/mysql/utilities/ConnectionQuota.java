@@ -0,0 +1,157 @@
+package asia.virtualmc.vLib.storage.mysql.utilities;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-plugin share of the shared MySQL pool. A fair semaphore caps how many connections the plugin
+ * may hold at once, so one busy plugin cannot starve the others, and waiting callers are served in order.
+ * Connections handed out are proxies that return the permit when closed.
+ */
+public final class ConnectionQuota {
+    private final String name;
+    private final int maxConnections;
+    private final Semaphore permits;
+
+    // Metrics
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private volatile long maxWaitNanos;
+
+    ConnectionQuota(@NotNull String name, int maxConnections) {
+        this.name = name;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Waits for a permit, then borrows a connection from the shared pool.
+     *
+     * @throws IllegalStateException if no permit became available within {@code timeoutMillis}
+     */
+    Connection acquire(@NotNull ConnectionSource source, long timeoutMillis) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new IllegalStateException("Timed out waiting for a MySQL connection slot for plugin: " + name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a MySQL connection slot for plugin: " + name, e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            return wrap(source.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getInUse() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return permits.getQueueLength();
+    }
+
+    public long getAcquired() {
+        return acquired.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = acquired.get();
+        return count == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    private void recordWait(long nanos) {
+        acquired.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        if (nanos > maxWaitNanos) maxWaitNanos = nanos;
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Handler(target));
+    }
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection getConnection() throws SQLException;
+    }
+
+    // Returns the permit exactly once, when the caller closes the connection.
+    private final class Handler implements InvocationHandler {
+        private final Connection target;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        Handler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    if (closed.get()) return true;
+                }
+                case "unwrap" -> {
+                    if (args[0] == Connection.class) return proxy;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {}
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package asia.virtualmc.vLib.storage.mysql.utilities;
 
 import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.storage.metrics.QueryMetrics;
 import asia.virtualmc.vLib.utilities.annotations.Internal;
 import asia.virtualmc.vLib.utilities.files.YAMLUtils;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
@@ -17,9 +18,13 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class MySQLConnection {
+    private static final String SHARED_POOL = "vLib-shared";
+    private static final long CONNECTION_TIMEOUT = 10000;
     private static final Map<String, HikariDataSource> dataSourceMap = new ConcurrentHashMap<>();
+    private static final Map<String, ConnectionQuota> quotas = new ConcurrentHashMap<>();
     private static DatabaseConfig databaseConfig;
-    private record DatabaseConfig(String host, int port, String dbName, String user, String password) {}
+    private record DatabaseConfig(String host, int port, String dbName, String user, String password,
+                                  boolean sharedPool, int poolSize, int pluginConnections, int chunkSize) {}
 
     public MySQLConnection() {
         load();
@@ -50,7 +55,11 @@ public class MySQLConnection {
             String dbName = section.getString("database", "minecraft");
             String user = section.getString("username", "root");
             String pass = section.getString("password", "");
-            databaseConfig = new DatabaseConfig(host, port, dbName, user, pass);
+            boolean sharedPool = section.getBoolean("shared_pool", false);
+            int poolSize = Math.max(1, section.getInt("pool_size", 10));
+            int pluginConnections = Math.max(1, Math.min(poolSize, section.getInt("max_connections_per_plugin", 4)));
+            int chunkSize = Math.max(1, section.getInt("chunk_size", 500));
+            databaseConfig = new DatabaseConfig(host, port, dbName, user, pass, sharedPool, poolSize, pluginConnections, chunkSize);
 
         } catch (Exception e) {
             ConsoleUtils.severe("Error during database config read: " + e.getMessage());
@@ -61,29 +70,35 @@ public class MySQLConnection {
     }
 
     /**
-     * Creates a new HikariCP connection pool for the specified plugin.
+     * Creates a new HikariCP connection pool for the specified plugin, or the pool shared by all plugins
+     * when {@code shared_pool} is enabled.
      * The connection uses the settings defined in the loaded MySQL configuration.
      *
-     * @param pluginName The plugin's name used as a key for the connection pool.
+     * @param pluginName The plugin's name (or the shared pool's name) used as a key for the connection pool.
      * @return A new {@link HikariDataSource} instance, or null if creation fails.
      * @apiNote This method is intended for internal library use only.
      */
     @Internal
-    private static HikariDataSource create(@NotNull String pluginName) {
+    private static synchronized HikariDataSource create(@NotNull String pluginName) {
         if (databaseConfig == null) {
             ConsoleUtils.severe("MySQL config not loaded. Aborting MySQL connection setup for " + pluginName);
             return null;
         }
+        HikariDataSource existing = dataSourceMap.get(pluginName);
+        if (existing != null && !existing.isClosed()) {
+            return existing;
+        }
         try {
+            boolean shared = pluginName.equals(SHARED_POOL);
             HikariConfig config = new HikariConfig();
             config.setJdbcUrl("jdbc:mysql://" + databaseConfig.host + ":" + databaseConfig.port +
                     "/" + databaseConfig.dbName);
             config.setUsername(databaseConfig.user);
             config.setPassword(databaseConfig.password);
-            config.setMaximumPoolSize(10);
-            config.setMinimumIdle(5);
+            config.setMaximumPoolSize(shared ? databaseConfig.poolSize : 10);
+            config.setMinimumIdle(shared ? Math.min(2, databaseConfig.poolSize) : 5);
             config.setIdleTimeout(300000);
-            config.setConnectionTimeout(10000);
+            config.setConnectionTimeout(CONNECTION_TIMEOUT);
             config.setMaxLifetime(1800000);
             config.addDataSourceProperty("cachePrepStmts", "true");
             config.addDataSourceProperty("prepStmtCacheSize", "250");
@@ -104,6 +119,8 @@ public class MySQLConnection {
     /**
      * Retrieves a MySQL connection for the specified plugin name.
      * If the pool is missing or closed, it attempts to recreate it.
+     * In shared mode the connection comes from the shared pool once the plugin's {@link ConnectionQuota}
+     * has a free slot; closing it returns the slot.
      *
      * @param pluginName The name of the plugin requesting the connection.
      * @return A valid {@link Connection}, or null if connection fails.
@@ -111,6 +128,44 @@ public class MySQLConnection {
      */
     @Internal
     private static Connection get(String pluginName) {
+        long start = System.nanoTime();
+        Connection conn = borrow(pluginName);
+        QueryMetrics.recordPoolWait(pluginName, System.nanoTime() - start);
+        return QueryMetrics.instrument(conn, pluginName);
+    }
+
+    /**
+     * Borrows a raw connection from the plugin's pool, or from the shared pool within the plugin's quota.
+     *
+     * @apiNote This method is intended for internal library use only.
+     */
+    @Internal
+    private static Connection borrow(String pluginName) {
+        if (databaseConfig != null && databaseConfig.sharedPool) {
+            HikariDataSource source = pool(SHARED_POOL);
+            ConnectionQuota quota = quotas.computeIfAbsent(pluginName,
+                    name -> new ConnectionQuota(name, databaseConfig.pluginConnections));
+            try {
+                return quota.acquire(source::getConnection, CONNECTION_TIMEOUT);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to obtain MySQL connection for plugin: " + pluginName, e);
+            }
+        }
+
+        try {
+            return pool(pluginName).getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to obtain MySQL connection for plugin: " + pluginName, e);
+        }
+    }
+
+    /**
+     * Returns the open pool stored under the given name, creating it if missing or closed.
+     *
+     * @apiNote This method is intended for internal library use only.
+     */
+    @Internal
+    private static HikariDataSource pool(String pluginName) {
         HikariDataSource source = dataSourceMap.get(pluginName);
 
         if (source == null || source.isClosed()) {
@@ -119,11 +174,7 @@ public class MySQLConnection {
                 throw new IllegalStateException("Failed to create a MySQL connection pool for plugin: " + pluginName);
             }
         }
-        try {
-            return source.getConnection();
-        } catch (SQLException e) {
-            throw new IllegalStateException("Unable to obtain MySQL connection for plugin: " + pluginName, e);
-        }
+        return source;
     }
 
     /**
@@ -137,14 +188,46 @@ public class MySQLConnection {
         return get(plugin.getName());
     }
 
+    /**
+     * Returns the size of the pool a single plugin draws from: the shared pool when {@code shared_pool}
+     * is enabled, otherwise the per-plugin pool.
+     */
+    public static int getPoolSize() {
+        return (databaseConfig != null && databaseConfig.sharedPool) ? databaseConfig.poolSize : 10;
+    }
+
+    /**
+     * Returns the most rows packed into one multi-row statement ({@code chunk_size}), or 0 if no config is loaded.
+     */
+    public static int getChunkSize() {
+        return databaseConfig != null ? databaseConfig.chunkSize : 0;
+    }
+
+    /**
+     * Returns the per-plugin connection quotas of the shared pool, keyed by plugin name.
+     * Empty unless {@code shared_pool} is enabled.
+     *
+     * @return a snapshot of plugin name -> quota, exposing in-use slots, queue length and wait times
+     */
+    public static Map<String, ConnectionQuota> getQuotas() {
+        return Map.copyOf(quotas);
+    }
+
     /**
      * Closes and removes the HikariCP connection pool associated with the given plugin name.
+     * In shared mode nothing is closed: the shared pool stays open for the others, and the plugin's quota
+     * is kept, so saves still in flight during its shutdown keep counting against the same cap.
      *
      * @param pluginName The name of the plugin whose connection should be closed.
      * @apiNote This method is intended for internal library use only.
      */
     @Internal
     private static void close(String pluginName) {
+        if (databaseConfig != null && databaseConfig.sharedPool) {
+            // Dropping the quota while permits are held would let the next borrow start a fresh one
+            return;
+        }
+
         HikariDataSource source = dataSourceMap.remove(pluginName);
         if (source != null && !source.isClosed()) {
             source.close();
@@ -172,5 +255,6 @@ public class MySQLConnection {
             }
         }
         dataSourceMap.clear();
+        quotas.clear();
     }
 }
\ No newline at end of file
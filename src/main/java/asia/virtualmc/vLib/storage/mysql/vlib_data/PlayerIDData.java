@@ -2,18 +2,35 @@ package asia.virtualmc.vLib.storage.mysql.vlib_data;
 
 import asia.virtualmc.vLib.Main;
 import asia.virtualmc.vLib.storage.mysql.utilities.MySQLConnection;
+import asia.virtualmc.vLib.utilities.annotations.Internal;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerIDData {
-    private static final ConcurrentHashMap<UUID, Integer> playerIDMap = new ConcurrentHashMap<>();
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final Cache<UUID, Integer> playerIDMap = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(6))
+            .recordStats()
+            .build();
 
     public PlayerIDData() {
         create();
@@ -30,13 +47,10 @@ public class PlayerIDData {
                 "PRIMARY KEY (playerID), " +
                 "UNIQUE KEY (uuid)" +
                 ")";
-        try {
-            Connection conn = MySQLConnection.get(Main.getInstance());
-            if (conn != null) {
-                PreparedStatement statement = conn.prepareStatement(sql);
-                statement.executeUpdate();
-                ConsoleUtils.info("Table 'vlib_players' checked/created successfully.");
-            }
+        try (Connection conn = MySQLConnection.get(Main.getInstance());
+             PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.executeUpdate();
+            ConsoleUtils.info("Table 'vlib_players' checked/created successfully.");
         } catch (SQLException e) {
             ConsoleUtils.severe("Error creating vlib_players table: " + e.getMessage());
         }
@@ -44,7 +58,7 @@ public class PlayerIDData {
 
     /**
      * Retrieves the internal player ID for the given UUID from memory or the database.
-     * If the UUID is not yet in the database, it will be inserted automatically.
+     * Existing players are only read; the UUID is inserted only if it is not in the database yet.
      *
      * @param uuid The UUID of the player.
      * @return The associated internal player ID.
@@ -52,39 +66,45 @@ public class PlayerIDData {
      */
     @NotNull
     public static Integer get(UUID uuid) {
-        Integer id = playerIDMap.get(uuid);
+        Integer id = playerIDMap.getIfPresent(uuid);
         if (id != null) {
             return id;
         }
 
-        String insertQuery = "INSERT INTO vlib_players (uuid) VALUES (?) " +
-                "ON DUPLICATE KEY UPDATE playerID = LAST_INSERT_ID(playerID)";
         String selectQuery = "SELECT playerID FROM vlib_players WHERE uuid = ?";
+        String insertQuery = "INSERT IGNORE INTO vlib_players (uuid) VALUES (?)";
 
-        try (Connection conn = MySQLConnection.get(Main.getInstance())) {
-            PreparedStatement insertStmt = conn.prepareStatement(
-                    insertQuery, PreparedStatement.RETURN_GENERATED_KEYS);
-            insertStmt.setString(1, uuid.toString());
-            insertStmt.executeUpdate();
-
-            try (ResultSet rs = insertStmt.getGeneratedKeys()) {
+        try (Connection conn = MySQLConnection.get(Main.getInstance());
+             PreparedStatement selectStmt = conn.prepareStatement(selectQuery)) {
+            selectStmt.setString(1, uuid.toString());
+            try (ResultSet rs = selectStmt.executeQuery()) {
                 if (rs.next()) {
-                    int playerID = rs.getInt(1);
+                    int playerID = rs.getInt("playerID");
                     playerIDMap.put(uuid, playerID);
                     return playerID;
                 }
             }
 
-            try (PreparedStatement selectStmt = conn.prepareStatement(selectQuery)) {
-                selectStmt.setString(1, uuid.toString());
-                try (ResultSet rs = selectStmt.executeQuery()) {
+            // True miss: create the row. Another server may insert it concurrently, so read it back if ignored.
+            try (PreparedStatement insertStmt = conn.prepareStatement(insertQuery, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                insertStmt.setString(1, uuid.toString());
+                insertStmt.executeUpdate();
+                try (ResultSet rs = insertStmt.getGeneratedKeys()) {
                     if (rs.next()) {
-                        int playerID = rs.getInt("playerID");
+                        int playerID = rs.getInt(1);
                         playerIDMap.put(uuid, playerID);
                         return playerID;
                     }
                 }
             }
+
+            try (ResultSet rs = selectStmt.executeQuery()) {
+                if (rs.next()) {
+                    int playerID = rs.getInt("playerID");
+                    playerIDMap.put(uuid, playerID);
+                    return playerID;
+                }
+            }
         } catch (SQLException e) {
             ConsoleUtils.severe("Error fetching/inserting playerID: " + e.getMessage());
         }
@@ -92,6 +112,108 @@ public class PlayerIDData {
         throw new IllegalStateException("Failed to retrieve or insert playerID for UUID: " + uuid);
     }
 
+    /**
+     * Loads the player's ID into the cache ahead of time, e.g. during async pre-login.
+     * Blocking; never call from the main thread.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public static void prefetch(@NotNull UUID uuid) {
+        try {
+            get(uuid);
+        } catch (IllegalStateException e) {
+            ConsoleUtils.warning("Unable to prefetch playerID for " + uuid + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns hit/miss and eviction statistics of the player ID cache.
+     */
+    @NotNull
+    public static CacheStats getStats() {
+        return playerIDMap.stats();
+    }
+
+    public static long getCacheSize() {
+        return playerIDMap.estimatedSize();
+    }
+
+    /**
+     * Resolves the internal player IDs of many players at once.
+     * Cached IDs are returned directly; the rest are created with one multi-row insert and
+     * fetched with one {@code SELECT ... WHERE uuid IN (...)} per {@value #BULK_CHUNK_SIZE} players.
+     * Call this before opening a batch transaction instead of {@link #get(UUID)} inside the loop.
+     *
+     * @param uuids The UUIDs of the players.
+     * @return map of UUID -> internal player ID, containing every requested UUID.
+     * @throws IllegalStateException if any player ID could not be retrieved or inserted.
+     */
+    @NotNull
+    public static Map<UUID, Integer> getAll(@NotNull Collection<UUID> uuids) {
+        Map<UUID, Integer> result = new HashMap<>(playerIDMap.getAllPresent(uuids));
+        List<UUID> missing = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>(result.keySet());
+        for (UUID uuid : uuids) {
+            if (seen.add(uuid)) missing.add(uuid);
+        }
+        if (missing.isEmpty()) return result;
+
+        try (Connection conn = MySQLConnection.get(Main.getInstance())) {
+            for (int start = 0; start < missing.size(); start += BULK_CHUNK_SIZE) {
+                List<UUID> chunk = missing.subList(start, Math.min(start + BULK_CHUNK_SIZE, missing.size()));
+                select(conn, chunk, result);
+
+                // Insert only the players that do not exist yet, then read their new IDs.
+                List<UUID> absent = new ArrayList<>();
+                for (UUID uuid : chunk) {
+                    if (!result.containsKey(uuid)) absent.add(uuid);
+                }
+                if (absent.isEmpty()) continue;
+
+                try (PreparedStatement insertStmt = conn.prepareStatement(
+                        "INSERT IGNORE INTO vlib_players (uuid) VALUES " +
+                                String.join(", ", Collections.nCopies(absent.size(), "(?)")))) {
+                    for (int i = 0; i < absent.size(); i++) {
+                        insertStmt.setString(i + 1, absent.get(i).toString());
+                    }
+                    insertStmt.executeUpdate();
+                }
+                select(conn, absent, result);
+            }
+        } catch (SQLException e) {
+            ConsoleUtils.severe("Error fetching/inserting playerIDs: " + e.getMessage());
+        }
+
+        for (UUID uuid : missing) {
+            if (!result.containsKey(uuid)) {
+                throw new IllegalStateException("Failed to retrieve or insert playerID for UUID: " + uuid);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the IDs of the given players with one {@code SELECT ... WHERE uuid IN (...)} and caches them.
+     */
+    @Internal
+    private static void select(Connection conn, List<UUID> uuids, Map<UUID, Integer> result) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(uuids.size(), "?"));
+        try (PreparedStatement selectStmt = conn.prepareStatement(
+                "SELECT playerID, uuid FROM vlib_players WHERE uuid IN (" + placeholders + ")")) {
+            for (int i = 0; i < uuids.size(); i++) {
+                selectStmt.setString(i + 1, uuids.get(i).toString());
+            }
+            try (ResultSet rs = selectStmt.executeQuery()) {
+                while (rs.next()) {
+                    UUID uuid = UUID.fromString(rs.getString("uuid"));
+                    int playerID = rs.getInt("playerID");
+                    playerIDMap.put(uuid, playerID);
+                    result.put(uuid, playerID);
+                }
+            }
+        }
+    }
+
     /**
      * Replaces the UUID associated with the given internal player ID in the database.
      *
@@ -101,11 +223,15 @@ public class PlayerIDData {
      */
     public static boolean replace(int playerID, UUID newUUID) {
         String updateQuery = "UPDATE vlib_players SET uuid = ? WHERE playerID = ?";
-        try (Connection conn = MySQLConnection.get(Main.getInstance())) {
-            PreparedStatement statement = conn.prepareStatement(updateQuery);
+        try (Connection conn = MySQLConnection.get(Main.getInstance());
+             PreparedStatement statement = conn.prepareStatement(updateQuery)) {
             statement.setString(1, newUUID.toString());
             statement.setInt(2, playerID);
             int affectedRows = statement.executeUpdate();
+            if (affectedRows == 1) {
+                playerIDMap.asMap().values().removeIf(id -> id == playerID);
+                playerIDMap.put(newUUID, playerID);
+            }
             return affectedRows == 1;
         } catch (SQLException e) {
             ConsoleUtils.severe("Error updating uuid for playerID " + playerID + ": " + e.getMessage());
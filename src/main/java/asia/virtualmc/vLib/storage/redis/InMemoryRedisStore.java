@@ -0,0 +1,92 @@
+package asia.virtualmc.vLib.storage.redis;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link RedisStore} with the same expiry, lock and pub/sub semantics as Redis.
+ * Messages are delivered synchronously on the publishing thread.
+ */
+public final class InMemoryRedisStore implements RedisStore {
+    private record Entry(String value, long expiresAt) {
+        boolean expired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final Map<String, Entry> values = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> channels = new ConcurrentHashMap<>();
+
+    @Override
+    public void set(@NotNull String key, @NotNull String value, @NotNull Duration ttl) {
+        values.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Nullable
+    @Override
+    public String getAndDelete(@NotNull String key) {
+        Entry entry = values.remove(key);
+        return (entry == null || entry.expired(System.nanoTime())) ? null : entry.value();
+    }
+
+    @Override
+    public boolean exists(@NotNull String key) {
+        Entry entry = values.get(key);
+        if (entry == null) return false;
+        if (entry.expired(System.nanoTime())) {
+            values.remove(key, entry);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(@NotNull String key, @NotNull String token, @NotNull Duration ttl) {
+        long now = System.nanoTime();
+        Entry lock = new Entry(token, now + ttl.toNanos());
+        Entry result = values.compute(key, (k, existing) ->
+                (existing == null || existing.expired(now)) ? lock : existing);
+        return result == lock;
+    }
+
+    @Override
+    public boolean refresh(@NotNull String key, @NotNull String token, @NotNull Duration ttl) {
+        long now = System.nanoTime();
+        Entry lock = new Entry(token, now + ttl.toNanos());
+        Entry result = values.computeIfPresent(key, (k, existing) ->
+                (!existing.expired(now) && existing.value().equals(token)) ? lock : existing);
+        return result == lock;
+    }
+
+    @Override
+    public void unlock(@NotNull String key, @NotNull String token) {
+        values.computeIfPresent(key, (k, existing) -> existing.value().equals(token) ? null : existing);
+    }
+
+    @Override
+    public void publish(@NotNull String channel, @NotNull String message) {
+        List<Consumer<String>> listeners = channels.get(channel);
+        if (listeners == null) return;
+        for (Consumer<String> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribe(@NotNull String channel, @NotNull Consumer<String> listener) {
+        channels.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void close() {
+        values.clear();
+        channels.clear();
+    }
+}
@@ -0,0 +1,131 @@
+package asia.virtualmc.vLib.storage.redis;
+
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.params.SetParams;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link RedisStore} backed by a pooled Jedis client. Each subscription runs on its own daemon thread
+ * and resubscribes after a lost connection.
+ */
+public final class JedisRedisStore implements RedisStore {
+    private static final String UNLOCK_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+    private static final String REFRESH_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end";
+    private static final long RESUBSCRIBE_DELAY_MILLIS = 1000;
+
+    private final JedisPooled jedis;
+    private final List<JedisPubSub> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean open = true;
+
+    /**
+     * @param password empty or null for no authentication
+     */
+    public JedisRedisStore(@NotNull String host, int port, @Nullable String password, int timeoutMillis) {
+        DefaultJedisClientConfig.Builder config = DefaultJedisClientConfig.builder()
+                .timeoutMillis(timeoutMillis)
+                .clientName("vLib");
+        if (password != null && !password.isEmpty()) config.password(password);
+        this.jedis = new JedisPooled(new HostAndPort(host, port), config.build());
+    }
+
+    /**
+     * Round-trips a PING to verify the connection.
+     */
+    public boolean ping() {
+        return "PONG".equalsIgnoreCase(jedis.ping());
+    }
+
+    @Override
+    public void set(@NotNull String key, @NotNull String value, @NotNull Duration ttl) {
+        jedis.set(key, value, SetParams.setParams().px(ttl.toMillis()));
+    }
+
+    @Nullable
+    @Override
+    public String getAndDelete(@NotNull String key) {
+        return jedis.getDel(key);
+    }
+
+    @Override
+    public boolean exists(@NotNull String key) {
+        return jedis.exists(key);
+    }
+
+    @Override
+    public boolean tryLock(@NotNull String key, @NotNull String token, @NotNull Duration ttl) {
+        return "OK".equals(jedis.set(key, token, SetParams.setParams().nx().px(ttl.toMillis())));
+    }
+
+    @Override
+    public boolean refresh(@NotNull String key, @NotNull String token, @NotNull Duration ttl) {
+        Object result = jedis.eval(REFRESH_SCRIPT, List.of(key), List.of(token, Long.toString(ttl.toMillis())));
+        return Long.valueOf(1L).equals(result);
+    }
+
+    @Override
+    public void unlock(@NotNull String key, @NotNull String token) {
+        jedis.eval(UNLOCK_SCRIPT, List.of(key), List.of(token));
+    }
+
+    @Override
+    public void publish(@NotNull String channel, @NotNull String message) {
+        jedis.publish(channel, message);
+    }
+
+    @Override
+    public void subscribe(@NotNull String channel, @NotNull Consumer<String> listener) {
+        JedisPubSub pubSub = new JedisPubSub() {
+            @Override
+            public void onMessage(String ch, String message) {
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException e) {
+                    ConsoleUtils.severe("Redis listener on " + ch + " failed: " + e.getMessage());
+                }
+            }
+        };
+        subscriptions.add(pubSub);
+
+        // SUBSCRIBE blocks its connection, so it gets a thread of its own.
+        Thread.ofPlatform().daemon().name("vLib-redis-" + channel).start(() -> {
+            while (open) {
+                try {
+                    jedis.subscribe(pubSub, channel);
+                } catch (RuntimeException e) {
+                    if (!open) break;
+                    ConsoleUtils.warning("Redis subscription to " + channel + " lost: " + e.getMessage());
+                    try {
+                        Thread.sleep(RESUBSCRIBE_DELAY_MILLIS);
+                    } catch (InterruptedException ie) {
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        for (JedisPubSub pubSub : subscriptions) {
+            try {
+                if (pubSub.isSubscribed()) pubSub.unsubscribe();
+            } catch (RuntimeException ignored) {
+            }
+        }
+        subscriptions.clear();
+        jedis.close();
+    }
+}
@@ -0,0 +1,346 @@
+package asia.virtualmc.vLib.storage.redis;
+
+import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.utilities.annotations.Internal;
+import asia.virtualmc.vLib.utilities.files.YAMLUtils;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import dev.dejvokep.boostedyaml.YamlDocument;
+import dev.dejvokep.boostedyaml.block.implementation.Section;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hands player data from one backend to the next through Redis when a player switches servers.
+ * <p>
+ * A server holds a session marker for every player it has loaded, from {@link #receive} until the
+ * caller {@link #release releases} it after the final save, and refreshes it in the background.
+ * Behind a proxy the next server loads the player before the previous one sees the quit, so
+ * {@link #receive} waits for the marker to be released instead of reading data that is still being
+ * changed. The previous server stores a snapshot of the cached data before its final save, and the
+ * next server takes it instead of reading MySQL. Without a snapshot (first join, expired, or Redis
+ * unavailable) callers fall back to the database.
+ * <p>
+ * If a server stops refreshing its markers (crash, lost connection), they expire; a waiting server
+ * also takes over once the wait times out.
+ * <p>
+ * Every handoff also publishes an invalidation, which other servers use to drop cached offline copies.
+ * All methods are no-ops when the {@code redis} module is disabled.
+ */
+public class PlayerHandoff {
+    private static final String KEY_PREFIX = "vlib:";
+    private static final String CHANNEL = "vlib:invalidate";
+    private static final long WAIT_STEP_MILLIS = 25;
+    // Leaves room for the takeover and the database load within the 10s pre-login wait of PlayerPreLoginListener
+    private static final long MAX_WAIT_MILLIS = 5000;
+    private static final Map<String, Consumer<UUID>> listeners = new ConcurrentHashMap<>();
+    // Session key -> token of every marker this server holds
+    private static final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private static volatile RedisStore store;
+    private static volatile HandoffConfig config;
+    private static ScheduledExecutorService refresher;
+    private record HandoffConfig(String serverId, Duration waitTimeout, Duration sessionTtl, Duration snapshotTtl) {}
+
+    /**
+     * Reads the redis section of config.yml and connects.
+     *
+     * @return true if Redis is reachable and the handoff layer is active; false otherwise.
+     */
+    public boolean load() {
+        YamlDocument yaml = YAMLUtils.getYaml(Main.getInstance(), "config.yml");
+        if (yaml == null) {
+            ConsoleUtils.severe("Unable to find or read config.yml, it might be missing!");
+            return false;
+        }
+
+        Section section = yaml.getSection("redis");
+        if (section == null) {
+            ConsoleUtils.severe("Couldn't find redis section from config.yml! Failed to connect to Redis.");
+            return false;
+        }
+
+        JedisRedisStore jedis = null;
+        try {
+            String host = section.getString("host", "localhost");
+            int port = section.getInt("port", 6379);
+            String password = section.getString("password", "");
+            String serverId = section.getString("server_id", "");
+            if (serverId.isEmpty()) serverId = UUID.randomUUID().toString().substring(0, 8);
+            Duration waitTimeout = Duration.ofMillis(Math.clamp(section.getLong("wait_ms", 4000L), 500, MAX_WAIT_MILLIS));
+            Duration sessionTtl = Duration.ofSeconds(Math.max(3, section.getLong("session_seconds", 30L)));
+            Duration snapshotTtl = Duration.ofSeconds(Math.max(5, section.getLong("snapshot_seconds", 60L)));
+
+            jedis = new JedisRedisStore(host, port, password, 2000);
+            if (!jedis.ping()) throw new IllegalStateException("PING was not answered");
+            start(jedis, serverId, waitTimeout, sessionTtl, snapshotTtl);
+        } catch (Exception e) {
+            if (jedis != null) jedis.close();
+            ConsoleUtils.severe("Error connecting to Redis, falling back to MySQL only: " + e.getMessage());
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Activates the handoff layer on the given store. Use with {@link InMemoryRedisStore} to run
+     * without a Redis server, e.g. in tests.
+     *
+     * @param serverId    unique name of this backend; invalidations from the same id are ignored
+     * @param waitTimeout how long {@link #receive} waits for another server to release a player
+     * @param sessionTtl  how long a session marker outlives its last refresh
+     */
+    public static synchronized void start(@NotNull RedisStore redisStore, @NotNull String serverId,
+                                          @NotNull Duration waitTimeout, @NotNull Duration sessionTtl,
+                                          @NotNull Duration snapshotTtl) {
+        stop();
+        config = new HandoffConfig(serverId, waitTimeout, sessionTtl, snapshotTtl);
+        redisStore.subscribe(CHANNEL, PlayerHandoff::dispatch);
+        store = redisStore;
+
+        long period = Math.max(1, sessionTtl.toMillis() / 3);
+        refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("vLib-redis-sessions").factory());
+        refresher.scheduleAtFixedRate(PlayerHandoff::refreshSessions, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Disconnects from Redis, releasing every session marker this server still holds.
+     * Registered invalidation listeners are kept for the next {@link #start}.
+     */
+    public static synchronized void stop() {
+        RedisStore s = store;
+        store = null;
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+        if (s == null) return;
+        sessions.forEach((key, token) -> {
+            try {
+                s.unlock(key, token);
+            } catch (RuntimeException ignored) {
+            }
+        });
+        sessions.clear();
+        try {
+            s.close();
+        } catch (RuntimeException e) {
+            ConsoleUtils.severe("Error closing Redis connection: " + e.getMessage());
+        }
+    }
+
+    public void close() {
+        stop();
+    }
+
+    public static boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * Publishes a player's data for the next server and runs the final database save.
+     * The session marker stays held; call {@link #release} once the player's data is saved.
+     * Without Redis, only {@code save} runs.
+     *
+     * @param namespace identifies the data set, e.g. {@code skills:<plugin>}
+     * @param snapshot  the player's cached data, as produced by {@link #encode(Map)}
+     * @param save      the blocking database save
+     */
+    public static void handOff(@NotNull String namespace, @NotNull UUID uuid,
+                               @NotNull String snapshot, @NotNull Runnable save) {
+        RedisStore s = store;
+        HandoffConfig c = config;
+        if (s == null || c == null) {
+            save.run();
+            return;
+        }
+
+        try {
+            s.set(key("data", namespace, uuid), snapshot, c.snapshotTtl());
+        } catch (RuntimeException e) {
+            ConsoleUtils.warning("Unable to hand off " + namespace + " data of " + uuid + ": " + e.getMessage());
+        }
+
+        try {
+            save.run();
+        } finally {
+            try {
+                s.publish(CHANNEL, c.serverId() + " " + namespace + " " + uuid);
+            } catch (RuntimeException e) {
+                ConsoleUtils.warning("Unable to publish handoff of " + uuid + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Claims the player's session marker and takes the snapshot left by the previous server.
+     * While another server still holds the marker, waits for it to be released, up to the
+     * configured wait timeout. Blocking; call off the main thread.
+     *
+     * @return the snapshot, or null if there is none and the caller should read the database
+     */
+    @Nullable
+    public static String receive(@NotNull String namespace, @NotNull UUID uuid) {
+        return receive(namespace, uuid, deadline());
+    }
+
+    /**
+     * Like {@link #receive(String, UUID)}, but waits at most until {@code deadline}, so several
+     * namespaces of one player can share a single wait.
+     *
+     * @param deadline {@link System#nanoTime()} value, as returned by {@link #deadline()}
+     */
+    @Nullable
+    public static String receive(@NotNull String namespace, @NotNull UUID uuid, long deadline) {
+        RedisStore s = store;
+        HandoffConfig c = config;
+        if (s == null || c == null) return null;
+
+        String sessionKey = key("session", namespace, uuid);
+        String token = c.serverId() + ":" + UUID.randomUUID();
+        try {
+            // Held by this server, e.g. a rejoin before the last unload finished
+            String previous = sessions.remove(sessionKey);
+            if (previous != null) s.unlock(sessionKey, previous);
+
+            while (!s.tryLock(sessionKey, token, c.sessionTtl())) {
+                if (System.nanoTime() - deadline >= 0) {
+                    ConsoleUtils.warning("Timed out waiting for another server to release " + uuid + " (" + namespace + "), taking over.");
+                    s.set(sessionKey, token, c.sessionTtl());
+                    break;
+                }
+                Thread.sleep(WAIT_STEP_MILLIS);
+            }
+            sessions.put(sessionKey, token);
+            return s.getAndDelete(key("data", namespace, uuid));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            ConsoleUtils.warning("Unable to receive " + namespace + " data of " + uuid + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the latest time a {@link #receive} starting now may wait until.
+     */
+    public static long deadline() {
+        HandoffConfig c = config;
+        return System.nanoTime() + (c != null ? c.waitTimeout().toNanos() : 0);
+    }
+
+    /**
+     * Releases the player's session marker, letting the next server load them.
+     * Call once the player is unloaded and their data is saved, or when loading them failed.
+     */
+    public static void release(@NotNull String namespace, @NotNull UUID uuid) {
+        String sessionKey = key("session", namespace, uuid);
+        String token = sessions.remove(sessionKey);
+        RedisStore s = store;
+        if (token == null || s == null) return;
+        try {
+            s.unlock(sessionKey, token);
+        } catch (RuntimeException e) {
+            ConsoleUtils.warning("Unable to release session of " + uuid + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the listener called when another server hands off a player of this namespace, replacing
+     * any previous one. Runs on the Redis subscriber thread; keep it short.
+     */
+    public static void onInvalidate(@NotNull String namespace, @NotNull Consumer<UUID> listener) {
+        listeners.put(namespace, listener);
+    }
+
+    public static void removeListener(@NotNull String namespace, @NotNull Consumer<UUID> listener) {
+        listeners.remove(namespace, listener);
+    }
+
+    /**
+     * Encodes key/value pairs as {@code key=value&key=value}, URL-escaping both sides.
+     */
+    @NotNull
+    public static String encode(@NotNull Map<String, String> values) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!builder.isEmpty()) builder.append('&');
+            builder.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reverses {@link #encode(Map)}.
+     */
+    @NotNull
+    public static Map<String, String> decode(@NotNull String snapshot) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (snapshot.isEmpty()) return values;
+        for (String pair : snapshot.split("&")) {
+            int split = pair.indexOf('=');
+            if (split < 0) continue;
+            values.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    /**
+     * Handles {@code <serverId> <namespace> <uuid>} messages from the invalidation channel.
+     */
+    @Internal
+    private static void dispatch(String message) {
+        HandoffConfig c = config;
+        String[] parts = message.split(" ", 3);
+        if (c == null || parts.length != 3 || parts[0].equals(c.serverId())) return;
+
+        Consumer<UUID> listener = listeners.get(parts[1]);
+        if (listener == null) return;
+        try {
+            listener.accept(UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Extends every held session marker. A marker that expired or was taken over by another
+     * server is dropped; that server owns the player now.
+     */
+    @Internal
+    private static void refreshSessions() {
+        RedisStore s = store;
+        HandoffConfig c = config;
+        if (s == null || c == null) return;
+        for (Map.Entry<String, String> entry : sessions.entrySet()) {
+            try {
+                if (!s.refresh(entry.getKey(), entry.getValue(), c.sessionTtl())) {
+                    sessions.remove(entry.getKey(), entry.getValue());
+                }
+            } catch (RuntimeException e) {
+                ConsoleUtils.warning("Unable to refresh Redis sessions: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @Internal
+    private static String key(String type, String namespace, UUID uuid) {
+        return KEY_PREFIX + type + ":" + namespace + ":" + uuid;
+    }
+}
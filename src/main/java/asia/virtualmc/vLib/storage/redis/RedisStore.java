@@ -0,0 +1,60 @@
+package asia.virtualmc.vLib.storage.redis;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * The few Redis operations vLib needs for player handoff and cache invalidation.
+ * {@link JedisRedisStore} talks to a real server; {@link InMemoryRedisStore} is a local stand-in
+ * for tests and single-server setups.
+ */
+public interface RedisStore extends AutoCloseable {
+
+    /**
+     * Stores a value that expires after {@code ttl}.
+     */
+    void set(@NotNull String key, @NotNull String value, @NotNull Duration ttl);
+
+    /**
+     * Atomically reads and deletes a value.
+     *
+     * @return the value, or null if absent or expired
+     */
+    @Nullable
+    String getAndDelete(@NotNull String key);
+
+    boolean exists(@NotNull String key);
+
+    /**
+     * Sets {@code key} to {@code token} only if it does not exist yet.
+     *
+     * @param ttl how long the lock lives if it is never released
+     * @return true if the lock was acquired
+     */
+    boolean tryLock(@NotNull String key, @NotNull String token, @NotNull Duration ttl);
+
+    /**
+     * Extends a lock's expiry to {@code ttl}, but only if it is still held with the same token.
+     *
+     * @return false if the lock expired or is held by someone else
+     */
+    boolean refresh(@NotNull String key, @NotNull String token, @NotNull Duration ttl);
+
+    /**
+     * Releases a lock, but only if it is still held with the same token.
+     */
+    void unlock(@NotNull String key, @NotNull String token);
+
+    void publish(@NotNull String channel, @NotNull String message);
+
+    /**
+     * Calls {@code listener} for every message published on {@code channel} until the store is closed.
+     */
+    void subscribe(@NotNull String channel, @NotNull Consumer<String> listener);
+
+    @Override
+    void close();
+}
@@ -1,6 +1,7 @@
 package asia.virtualmc.vLib.storage.sqlite;
 
 import asia.virtualmc.vLib.Main;
+import asia.virtualmc.vLib.storage.metrics.QueryMetrics;
 import asia.virtualmc.vLib.storage.sqlite.utilities.DriverShimUtils;
 import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
 import com.zaxxer.hikari.HikariConfig;
@@ -17,13 +18,20 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.sql.*;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class SQLiteConnection {
     private static final String SQLITE_VERSION = "3.49.1.0";
     private static final String SQLITE_URL = "https://repo1.maven.org/maven2/org/xerial/sqlite-jdbc/" +
             SQLITE_VERSION + "/sqlite-jdbc-" + SQLITE_VERSION + ".jar";
+    private static final int READ_POOL_SIZE = 10;
+
+    // GENERAL serves get() (legacy read/write), READ serves getReader(), WRITE backs a SQLiteWriter.
+    private enum PoolKind { GENERAL, READ, WRITE }
     private static final Map<String, HikariDataSource> dataSourceMap = new ConcurrentHashMap<>();
+    private static final Map<String, HikariDataSource> readerMap = new ConcurrentHashMap<>();
+    private static final Map<String, SQLiteWriter> writerMap = new ConcurrentHashMap<>();
 
     public SQLiteConnection() {
         load();
@@ -92,6 +100,20 @@ public class SQLiteConnection {
      * @return A configured HikariDataSource or null if creation failed.
      */
     private static HikariDataSource create(@NotNull String key, @NotNull File dbFile) {
+        HikariDataSource source = create(key, dbFile, PoolKind.GENERAL);
+        if (source != null) dataSourceMap.put(key, source);
+        return source;
+    }
+
+    /**
+     * Creates a new HikariDataSource for the specified SQLite database file without registering it.
+     *
+     * @param key      Unique identifier used in the pool name.
+     * @param dbFile   SQLite database file to connect to.
+     * @param kind     What the pool is used for; decides its size and connection settings.
+     * @return A configured HikariDataSource or null if creation failed.
+     */
+    private static HikariDataSource create(@NotNull String key, @NotNull File dbFile, @NotNull PoolKind kind) {
         try {
             if (!dbFile.exists()) {
                 dbFile.createNewFile();
@@ -101,14 +123,29 @@ public class SQLiteConnection {
             HikariConfig config = new HikariConfig();
             config.setDriverClassName("org.sqlite.JDBC");
             config.setJdbcUrl(jdbcUrl);
-            config.setMaximumPoolSize(10);
-            config.setPoolName("SQLitePool-" + key);
-            config.setAutoCommit(false);
+            switch (kind) {
+                case GENERAL -> {
+                    config.setMaximumPoolSize(10);
+                    config.setPoolName("SQLitePool-" + key);
+                    config.setAutoCommit(false);
+                }
+                case READ -> {
+                    config.setMaximumPoolSize(READ_POOL_SIZE);
+                    config.setPoolName("SQLiteReadPool-" + key);
+                    config.setReadOnly(true);
+                    config.setConnectionInitSql("PRAGMA query_only=ON");
+                }
+                case WRITE -> {
+                    // With WAL, synchronous=NORMAL stays consistent after a crash and skips the fsync on every commit.
+                    config.setMaximumPoolSize(1);
+                    config.setPoolName("SQLiteWritePool-" + key);
+                    config.setAutoCommit(false);
+                    config.setConnectionInitSql("PRAGMA synchronous=NORMAL");
+                }
+            }
 
             try {
-                HikariDataSource source = new HikariDataSource(config);
-                dataSourceMap.put(key, source);
-                return source;
+                return new HikariDataSource(config);
 
             } catch (Exception e) {
                 ConsoleUtils.severe("Failed to create a HikariDataSource for " + key + ": " + e.getMessage());
@@ -145,12 +182,79 @@ public class SQLiteConnection {
         }
 
         try {
-            return source.getConnection();
+            long start = System.nanoTime();
+            Connection conn = source.getConnection();
+            QueryMetrics.recordPoolWait(plugin.getName(), System.nanoTime() - start);
+            return QueryMetrics.instrument(conn, plugin.getName());
         } catch (SQLException e) {
             throw new IllegalStateException("Unable to obtain SQLite connection for: " + key, e);
         }
     }
 
+    /**
+     * Retrieves a read-only SQLite {@link Connection} for the given database file.
+     * Readers use their own pool and never block on the single writer thanks to WAL.
+     * Connections are in auto-commit mode and reject writes ({@code PRAGMA query_only}).
+     *
+     * @param plugin  The plugin requesting the connection.
+     * @param dbFile  The SQLite database file.
+     * @return An active read-only {@link Connection} to the SQLite database.
+     * @throws IllegalStateException if the connection pool cannot be created or a connection cannot be retrieved.
+     */
+    public static Connection getReader(@NotNull Plugin plugin, @NotNull File dbFile) {
+        String key = plugin.getName() + ":" + dbFile.getAbsolutePath();
+        HikariDataSource source = readerMap.get(key);
+
+        if (source == null || source.isClosed()) {
+            source = readerMap.compute(key, (k, existing) -> (existing != null && !existing.isClosed())
+                    ? existing : create(k, dbFile, PoolKind.READ));
+            if (source == null || source.isClosed()) {
+                throw new IllegalStateException("Failed to create a SQLite read pool for: " + key);
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            Connection conn = source.getConnection();
+            QueryMetrics.recordPoolWait(plugin.getName(), System.nanoTime() - start);
+            return QueryMetrics.instrument(conn, plugin.getName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to obtain SQLite read connection for: " + key, e);
+        }
+    }
+
+    /**
+     * Queues a write against the given database file. All writes to one file run on a single writer
+     * thread and are group-committed every few milliseconds; see {@link SQLiteWriter}.
+     *
+     * @param plugin  The plugin requesting the write.
+     * @param dbFile  The SQLite database file.
+     * @param job     Work to run on the writer connection (must not commit or close it).
+     * @return A future completing with the job's result once committed, or exceptionally on failure.
+     * @throws IllegalStateException if the writer connection cannot be created.
+     */
+    public static <T> CompletableFuture<T> write(@NotNull Plugin plugin, @NotNull File dbFile,
+                                                 @NotNull SQLiteWriter.Job<T> job) {
+        return writer(plugin, dbFile).submit(job);
+    }
+
+    /**
+     * Returns the single writer of the given database file, creating it on first use.
+     *
+     * @throws IllegalStateException if the writer connection cannot be created.
+     */
+    public static SQLiteWriter writer(@NotNull Plugin plugin, @NotNull File dbFile) {
+        String key = plugin.getName() + ":" + dbFile.getAbsolutePath();
+        SQLiteWriter writer = writerMap.computeIfAbsent(key, k -> {
+            HikariDataSource source = create(k, dbFile, PoolKind.WRITE);
+            return source == null ? null : new SQLiteWriter(plugin.getName() + "-" + dbFile.getName(), plugin.getName(), source);
+        });
+        if (writer == null) {
+            throw new IllegalStateException("Failed to create a SQLite writer for: " + key);
+        }
+        return writer;
+    }
+
     /**
      * Executes a WAL (Write-Ahead Logging) checkpoint on all managed SQLite connections.
      * This helps reduce WAL file size and commits changes to the main database file.
@@ -170,6 +274,11 @@ public class SQLiteConnection {
      * Closes all active SQLite HikariCP connection pools and clears the internal map.
      */
     public void closeAll() {
+        // Let queued writes commit before the final checkpoint.
+        for (SQLiteWriter writer : writerMap.values()) {
+            writer.close();
+        }
+        writerMap.clear();
         checkpointAll();
 
         for (Map.Entry<String, HikariDataSource> entry : dataSourceMap.entrySet()) {
@@ -180,5 +289,14 @@ public class SQLiteConnection {
             }
         }
         dataSourceMap.clear();
+
+        for (Map.Entry<String, HikariDataSource> entry : readerMap.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (Exception e) {
+                ConsoleUtils.severe("Failed to close HikariCP read pool for " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        readerMap.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package asia.virtualmc.vLib.storage.sqlite;
+
+import asia.virtualmc.vLib.storage.metrics.QueryMetrics;
+import asia.virtualmc.vLib.utilities.messages.ConsoleUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The only writer of one SQLite database file. Write jobs are queued and run on a single thread, and
+ * every job that arrives within a few milliseconds is group-committed in one transaction, so writers
+ * never contend for SQLite's lock (no {@code SQLITE_BUSY} waits) and each commit's fsync is shared.
+ * <p>
+ * Each job runs inside its own savepoint: a failing job is rolled back and fails its own future
+ * without affecting the rest of the group.
+ * <p>
+ * The writer keeps its connection open between groups, so jobs can reuse prepared statements
+ * through {@link #prepare(String)}. A failed commit closes the connection and its statements.
+ */
+public final class SQLiteWriter {
+
+    /**
+     * Work to run on the writer connection. Do not commit, roll back or close the connection.
+     */
+    @FunctionalInterface
+    public interface Job<T> {
+        T run(@NotNull Connection conn) throws SQLException;
+    }
+
+    private static final long GROUP_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int MAX_GROUP_SIZE = 512;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10000;
+
+    private final String owner;
+    private final HikariDataSource source;
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    // Guards running against submit, so no job is queued after close() stopped accepting
+    private final Object lock = new Object();
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private Connection conn;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    // Metrics
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong jobs = new AtomicLong();
+    private final AtomicLong failedCommits = new AtomicLong();
+
+    /**
+     * @param name   name of the writer thread
+     * @param owner  plugin name used for logging and query metrics
+     * @param source single-connection pool over the database file, with auto-commit disabled
+     */
+    SQLiteWriter(@NotNull String name, @NotNull String owner, @NotNull HikariDataSource source) {
+        this.owner = owner;
+        this.source = source;
+        // A platform thread: the SQLite driver blocks in native code, which would pin a virtual thread's carrier anyway.
+        this.thread = Thread.ofPlatform().daemon().name("vLib-sqlite-writer-" + name).start(this::loop);
+    }
+
+    /**
+     * Queues a write job.
+     *
+     * @return a future completing with the job's result once its transaction committed,
+     *         or exceptionally if the job or the commit failed
+     */
+    @NotNull
+    public <T> CompletableFuture<T> submit(@NotNull Job<T> job) {
+        Pending<T> pending = new Pending<>(job);
+        synchronized (lock) {
+            if (running) {
+                queue.add(pending);
+                return pending.future;
+            }
+        }
+        pending.future.completeExceptionally(closed());
+        return pending.future;
+    }
+
+    /**
+     * Returns a prepared statement on the writer connection, cached for as long as the connection stays open.
+     * Only call from inside a job of this writer, and do not close the statement.
+     *
+     * @throws IllegalStateException if called outside this writer's thread
+     */
+    @NotNull
+    public PreparedStatement prepare(@NotNull String sql) throws SQLException {
+        if (Thread.currentThread() != thread) {
+            throw new IllegalStateException("SQLite writer statements are only available inside a job");
+        }
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null) {
+            ps = connection().prepareStatement(sql);
+            statements.put(sql, ps);
+        } else {
+            // A job that failed halfway may have left parameters or batch rows behind
+            ps.clearBatch();
+            ps.clearParameters();
+        }
+        return ps;
+    }
+
+    /**
+     * Stops accepting jobs, commits the ones already queued and closes the connection.
+     */
+    void close() {
+        synchronized (lock) {
+            running = false;
+        }
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            ConsoleUtils.warning("[" + owner + "]", "SQLite writer did not finish within " +
+                    CLOSE_TIMEOUT_MILLIS + " ms; " + queue.size() + " job(s) left.");
+        }
+        source.close();
+    }
+
+    public int getQueued() { return queue.size(); }
+    public long getCommits() { return commits.get(); }
+    public long getJobs() { return jobs.get(); }
+    public long getFailedCommits() { return failedCommits.get(); }
+
+    public double getAverageGroupSize() {
+        long n = commits.get();
+        return n == 0 ? 0.0 : (double) jobs.get() / n;
+    }
+
+    // ---------- Internals ----------
+
+    private void loop() {
+        List<Pending<?>> group = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                group.add(first);
+
+                // Collect whatever else arrives within the window, up to the group limit.
+                long deadline = System.nanoTime() + GROUP_WINDOW_NANOS;
+                while (group.size() < MAX_GROUP_SIZE) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                synchronized (lock) {
+                    running = false;
+                }
+                for (Pending<?> pending : group) {
+                    pending.future.completeExceptionally(closed());
+                }
+            } finally {
+                group.clear();
+            }
+        }
+
+        // Empty after a normal close; after an interrupt, fail what is left instead of leaving callers waiting
+        Pending<?> left;
+        while ((left = queue.poll()) != null) {
+            left.future.completeExceptionally(closed());
+        }
+        reset();
+    }
+
+    private void commit(List<Pending<?>> group) {
+        try {
+            Connection conn = connection();
+            try {
+                for (Pending<?> pending : group) {
+                    pending.run(conn);
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            reset();
+            failedCommits.incrementAndGet();
+            ConsoleUtils.severe("[" + owner + "]", "SQLite group commit of " + group.size() +
+                    " job(s) failed: " + e.getMessage());
+            for (Pending<?> pending : group) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        commits.incrementAndGet();
+        jobs.addAndGet(group.size());
+        for (Pending<?> pending : group) {
+            pending.complete();
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (conn == null) conn = QueryMetrics.instrument(source.getConnection(), owner);
+        return conn;
+    }
+
+    // Closes the cached statements and returns the connection; the next group opens a fresh one.
+    private void reset() {
+        for (PreparedStatement ps : statements.values()) {
+            try {
+                ps.close();
+            } catch (SQLException ignored) {}
+        }
+        statements.clear();
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {}
+            conn = null;
+        }
+    }
+
+    private IllegalStateException closed() {
+        return new IllegalStateException("SQLite writer for " + owner + " is closed");
+    }
+
+    private static final class Pending<T> {
+        final Job<T> job;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private Exception error;
+
+        Pending(Job<T> job) {
+            this.job = job;
+        }
+
+        // Runs the job in its own savepoint; a job failure is kept and reported after the commit.
+        void run(Connection conn) throws SQLException {
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                result = job.run(conn);
+                conn.releaseSavepoint(savepoint);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback(savepoint);
+                error = e;
+            }
+        }
+
+        void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package asia.virtualmc.vLib;
+
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+
+/**
+ * Minimal {@link Plugin} for tests that only need a name and an enabled flag.
+ * Every other method returns null, false or zero.
+ */
+public final class FakePlugin {
+
+    private FakePlugin() {}
+
+    @NotNull
+    public static Plugin create(@NotNull String name) {
+        return (Plugin) Proxy.newProxyInstance(Plugin.class.getClassLoader(), new Class<?>[] {Plugin.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> name;
+                    case "isEnabled" -> true;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "FakePlugin[" + name + "]";
+                    default -> {
+                        Class<?> type = method.getReturnType();
+                        yield (type.isPrimitive() && type != void.class) ? Array.get(Array.newInstance(type, 1), 0) : null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,219 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import asia.virtualmc.vLib.FakePlugin;
+import asia.virtualmc.vLib.core.skills.data.PlayerDataPipeline;
+import asia.virtualmc.vLib.utilities.enums.EnumsLib;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers one {@link SkillsData} from several threads and checks that no update is lost, that
+ * getters never see another player's slot, and that updates queued behind a load keep their order.
+ */
+class SkillsDataConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int UPDATES = 20_000;
+
+    private MemoryDatabase database;
+    private SkillsData data;
+
+    @BeforeEach
+    void setUp() {
+        database = new MemoryDatabase();
+        data = new SkillsData(
+                FakePlugin.create("ConcurrencyTest"),
+                database,
+                // No levels, so updates never schedule level-up events
+                EXPCurve.compile(Map.of(), Map.of(), 1),
+                Map.of(),
+                EnumsLib.Skills.FARMING,
+                1
+        );
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        data.fill(uuid, player("Alice", 0));
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < UPDATES; i++) {
+                data.updateEXP(uuid, EnumsLib.UpdateType.ADD, 1.0);
+                data.updateLuck(uuid, EnumsLib.UpdateType.ADD, 1);
+                data.updateTalentPoints(uuid, EnumsLib.UpdateType.ADD, 1);
+            }
+        });
+
+        assertEquals(THREADS * UPDATES, data.getEXP(uuid));
+        assertEquals(THREADS * UPDATES, data.getLuck(uuid));
+        assertEquals(THREADS * UPDATES, data.getTalentPoints(uuid));
+    }
+
+    @Test
+    void playersSharingLockStripesDoNotInterfere() throws Exception {
+        // More players than lock stripes, so several players share each monitor
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID uuid = UUID.randomUUID();
+            data.fill(uuid, player("P" + i, 0));
+            players.add(uuid);
+        }
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < UPDATES / 10; i++) {
+                for (UUID uuid : players) {
+                    data.updateWisdom(uuid, EnumsLib.UpdateType.ADD, 1);
+                }
+            }
+        });
+
+        for (UUID uuid : players) {
+            assertEquals(THREADS * (UPDATES / 10), data.getWisdom(uuid));
+        }
+    }
+
+    @Test
+    void gettersNeverReadAReusedSlot() throws Exception {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        AtomicBoolean done = new AtomicBoolean(false);
+        Map<Integer, Boolean> seen = new ConcurrentHashMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> churn = pool.submit(() -> {
+                // Alice and Bob keep taking over the same freed slot
+                for (int i = 0; i < UPDATES; i++) {
+                    data.fill(alice, player("Alice", 1));
+                    data.unload(alice);
+                    data.fill(bob, player("Bob", 2));
+                    data.unload(bob);
+                }
+                done.set(true);
+            });
+            Future<?> reader = pool.submit(() -> {
+                while (!done.get()) {
+                    seen.put(data.getLuck(alice), true);
+                }
+            });
+            churn.get(60, TimeUnit.SECONDS);
+            reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 0 = not loaded, 1 = Alice; 2 would be Bob's luck read through Alice's stale slot
+        assertTrue(seen.keySet().stream().allMatch(luck -> luck == 0 || luck == 1), "read " + seen.keySet());
+    }
+
+    @Test
+    void updatesDuringLoadApplyInArrivalOrder() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        database.rows.put(uuid, player("Alice", 3));
+        CountDownLatch gate = new CountDownLatch(1);
+        database.gate = gate;
+
+        CompletableFuture<Void> load = PlayerDataPipeline.load(data, uuid);
+        data.updateLuck(uuid, EnumsLib.UpdateType.SET, 10);
+        data.updateLuck(uuid, EnumsLib.UpdateType.ADD, 1);
+        data.updateLuck(uuid, EnumsLib.UpdateType.SUBTRACT, 4);
+        gate.countDown();
+        load.get(10, TimeUnit.SECONDS);
+
+        // SET 10, ADD 1, SUBTRACT 4 on top of the loaded 3
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (data.getLuck(uuid) != 7 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(7, data.getLuck(uuid));
+    }
+
+    @Test
+    void fillNeverOverwritesALoadedPlayer() {
+        UUID uuid = UUID.randomUUID();
+        data.fill(uuid, player("Alice", 0));
+        data.updateLuck(uuid, EnumsLib.UpdateType.ADD, 5);
+
+        data.fill(uuid, player("Alice", 0));
+        assertEquals(5, data.getLuck(uuid));
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static SkillsDatabase.PlayerDataDB player(String name, int luck) {
+        return new SkillsDatabase.PlayerDataDB(name, 0, 0, 1.0, 1, luck, 0, 0, 0, 0, 0, 0);
+    }
+
+    private static final class MemoryDatabase implements SkillsDatabase {
+        final Map<UUID, PlayerDataDB> rows = new ConcurrentHashMap<>();
+        // Holds loads back until counted down
+        volatile CountDownLatch gate;
+
+        @Override
+        public void createTable(Plugin plugin, String tableName) {}
+
+        @Override
+        public PlayerDataDB load(Plugin plugin, String table, UUID uuid) {
+            CountDownLatch g = gate;
+            if (g != null) {
+                try {
+                    g.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return rows.getOrDefault(uuid, player(null, 0));
+        }
+
+        @Override
+        public void save(Plugin plugin, String table, UUID uuid, PlayerDataDB data) {
+            rows.put(uuid, data);
+        }
+
+        @Override
+        public void saveAll(Plugin plugin, String table, Map<UUID, PlayerDataDB> all) {
+            rows.putAll(all);
+        }
+    }
+}
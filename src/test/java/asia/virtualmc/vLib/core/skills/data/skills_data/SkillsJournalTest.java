@@ -0,0 +1,102 @@
+package asia.virtualmc.vLib.core.skills.data.skills_data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the journal survives a reopen, and that compaction only drops records written
+ * before the position a flush captured.
+ */
+class SkillsJournalTest {
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    private Path dir;
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("vlib-journal");
+        path = dir.resolve("skills.journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+        }
+    }
+
+    @Test
+    void recordsSurviveReopenInOrder() throws IOException {
+        SkillsJournal journal = SkillsJournal.open(path);
+        journal.append(PLAYER, SkillsJournal.EXP, 1);
+        journal.position();
+        journal.append(PLAYER, SkillsJournal.EXP, 2);
+        journal.append(PLAYER, SkillsJournal.LEVEL, 3);
+        journal.close();
+
+        assertEquals(List.of(1.0, 2.0, 3.0), values(SkillsJournal.open(path)));
+    }
+
+    @Test
+    void compactKeepsRecordsAfterPosition() throws IOException {
+        SkillsJournal journal = SkillsJournal.open(path);
+        journal.append(PLAYER, SkillsJournal.EXP, 1);
+        long position = journal.position();
+        journal.append(PLAYER, SkillsJournal.EXP, 2);
+        journal.compact(position);
+
+        assertEquals(List.of(2.0), values(journal));
+        journal.close();
+        assertEquals(List.of(2.0), values(SkillsJournal.open(path)));
+    }
+
+    @Test
+    void compactWithoutNewRecordsEmptiesJournal() throws IOException {
+        SkillsJournal journal = SkillsJournal.open(path);
+        journal.append(PLAYER, SkillsJournal.EXP, 1);
+        journal.compact(journal.position());
+
+        assertEquals(List.of(), values(journal));
+        journal.append(PLAYER, SkillsJournal.EXP, 4);
+        journal.close();
+        assertEquals(List.of(4.0), values(SkillsJournal.open(path)));
+    }
+
+    @Test
+    void sealedRecordsStayUntilTheirFlushCompacts() throws IOException {
+        SkillsJournal journal = SkillsJournal.open(path);
+        journal.append(PLAYER, SkillsJournal.EXP, 1);
+        journal.position();
+        journal.append(PLAYER, SkillsJournal.EXP, 2);
+
+        // The flush for that position failed, so the next one cannot seal but still covers the sealed segment
+        long next = journal.position();
+        journal.append(PLAYER, SkillsJournal.EXP, 3);
+        assertEquals(List.of(1.0, 2.0, 3.0), values(journal));
+
+        journal.compact(next);
+        assertEquals(List.of(2.0, 3.0), values(journal));
+        journal.compact(journal.position());
+        assertEquals(List.of(), values(journal));
+        journal.close();
+    }
+
+    private static List<Double> values(SkillsJournal journal) {
+        List<Double> out = new ArrayList<>();
+        journal.replay((uuid, field, value) -> out.add(value));
+        return out;
+    }
+}
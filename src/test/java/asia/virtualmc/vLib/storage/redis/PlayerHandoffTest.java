@@ -0,0 +1,138 @@
+package asia.virtualmc.vLib.storage.redis;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the handoff protocol against {@link InMemoryRedisStore}. Another server is simulated by
+ * writing its session marker and invalidations straight to the store.
+ */
+class PlayerHandoffTest {
+    private static final String NAMESPACE = "skills:Test";
+    private static final UUID PLAYER = UUID.randomUUID();
+    private static final String SESSION_KEY = "vlib:session:" + NAMESPACE + ":" + PLAYER;
+    private static final String DATA_KEY = "vlib:data:" + NAMESPACE + ":" + PLAYER;
+
+    private InMemoryRedisStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRedisStore();
+        PlayerHandoff.start(store, "server-a", Duration.ofSeconds(5), Duration.ofMillis(300), Duration.ofSeconds(60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PlayerHandoff.stop();
+    }
+
+    @Test
+    void snapshotIsReceivedOnce() {
+        assertNull(PlayerHandoff.receive(NAMESPACE, PLAYER));
+        boolean[] saved = {false};
+        PlayerHandoff.handOff(NAMESPACE, PLAYER, "exp=10", () -> saved[0] = true);
+        PlayerHandoff.release(NAMESPACE, PLAYER);
+
+        assertTrue(saved[0]);
+        assertEquals("exp=10", PlayerHandoff.receive(NAMESPACE, PLAYER));
+        assertNull(PlayerHandoff.receive(NAMESPACE, PLAYER));
+    }
+
+    @Test
+    void receiveWaitsUntilOtherServerReleases() throws Exception {
+        // The player is still online on server-b when the proxy connects them here
+        assertTrue(store.tryLock(SESSION_KEY, "server-b", Duration.ofSeconds(5)));
+        Thread other = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                return;
+            }
+            store.set(DATA_KEY, "exp=20", Duration.ofSeconds(60));
+            store.unlock(SESSION_KEY, "server-b");
+        });
+
+        long start = System.nanoTime();
+        String snapshot = PlayerHandoff.receive(NAMESPACE, PLAYER);
+        long waited = (System.nanoTime() - start) / 1_000_000;
+        other.join();
+
+        assertEquals("exp=20", snapshot);
+        assertTrue(waited >= 150, "receive returned after " + waited + " ms");
+        assertFalse(store.tryLock(SESSION_KEY, "server-b", Duration.ofSeconds(5)), "session was not claimed");
+    }
+
+    @Test
+    void receiveTakesOverAtTheDeadline() {
+        // server-b crashed without releasing; its marker has not expired yet
+        assertTrue(store.tryLock(SESSION_KEY, "server-b", Duration.ofSeconds(30)));
+
+        long start = System.nanoTime();
+        assertNull(PlayerHandoff.receive(NAMESPACE, PLAYER, start + 100_000_000L));
+        long waited = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waited >= 100 && waited < 1000, "receive returned after " + waited + " ms");
+        assertFalse(store.refresh(SESSION_KEY, "server-b", Duration.ofSeconds(30)), "session was not taken over");
+    }
+
+    @Test
+    void sessionIsHeldUntilReleased() throws Exception {
+        PlayerHandoff.receive(NAMESPACE, PLAYER);
+        // Well past the 300 ms session ttl; the refresher keeps it alive
+        Thread.sleep(900);
+        assertTrue(store.exists(SESSION_KEY));
+
+        PlayerHandoff.release(NAMESPACE, PLAYER);
+        assertFalse(store.exists(SESSION_KEY));
+    }
+
+    @Test
+    void rejoinOnSameServerDoesNotWait() {
+        PlayerHandoff.receive(NAMESPACE, PLAYER);
+        long start = System.nanoTime();
+        PlayerHandoff.receive(NAMESPACE, PLAYER);
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 1000);
+    }
+
+    @Test
+    void invalidationsFromThisServerAreIgnored() {
+        List<UUID> invalidated = new CopyOnWriteArrayList<>();
+        Consumer<UUID> listener = invalidated::add;
+        PlayerHandoff.onInvalidate(NAMESPACE, listener);
+        try {
+            PlayerHandoff.handOff(NAMESPACE, PLAYER, "", () -> {});
+            assertEquals(List.of(), invalidated);
+
+            store.publish("vlib:invalidate", "server-b " + NAMESPACE + " " + PLAYER);
+            store.publish("vlib:invalidate", "server-b generic:Test:stats " + PLAYER);
+            assertEquals(List.of(PLAYER), invalidated);
+        } finally {
+            PlayerHandoff.removeListener(NAMESPACE, listener);
+        }
+    }
+
+    @Test
+    void encodeRoundTripsEscapedValues() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("name", "a&b=c d");
+        values.put("exp", "12.5");
+        values.put("empty", "");
+
+        assertEquals(values, PlayerHandoff.decode(PlayerHandoff.encode(values)));
+        assertEquals(Map.of(), PlayerHandoff.decode(""));
+    }
+}